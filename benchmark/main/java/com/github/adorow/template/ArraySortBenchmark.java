@@ -0,0 +1,66 @@
+package com.github.adorow.template;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the radix sorts of ArrayUtil with {@code Arrays.sort} and {@code Arrays.parallelSort}, on 10^3 to 10^7 random {@code int}s and {@code long}s,
+ * and the key/index co-sort with sorting boxed indexes by a comparator.<br/>
+ * Each sort is run on a fresh copy of the same numbers, and the best of a few rounds is reported.
+ * The parallel sorts only differ from the sequential ones on machines with more than one core.
+ */
+public class ArraySortBenchmark {
+
+    private static final int[] SIZES = {1000, 10000, 100000, 1000000, 10000000};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        final int max = SIZES[SIZES.length - 1];
+        final int[] ints = new int[max];
+        final long[] longs = new long[max];
+        for (int i = 0; i < max; i++) {
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+        }
+        System.out.printf("%10s %14s %14s %14s %14s %14s %14s %14s %14s%n", "n", "Arrays.sort", "radixSort", "parallelSort", "parallelRadix",
+                "Arrays.sort(L)", "radixSort(L)", "Integer[] idx", "sortedIndexes");
+        for (int n : SIZES) {
+            // as many rounds of small arrays as it takes to sort 10^7 numbers, so that the times are comparable per number
+            final int repeat = max / n;
+            System.out.printf("%10d %12dms %12dms %12dms %12dms %12dms %12dms %12dms %12dms%n", n,
+                    time(() -> Arrays.sort(Arrays.copyOf(ints, n)), repeat),
+                    time(() -> ArrayUtil.radixSort(Arrays.copyOf(ints, n)), repeat),
+                    time(() -> Arrays.parallelSort(Arrays.copyOf(ints, n)), repeat),
+                    time(() -> ArrayUtil.parallelRadixSort(Arrays.copyOf(ints, n)), repeat),
+                    time(() -> Arrays.sort(Arrays.copyOf(longs, n)), repeat),
+                    time(() -> ArrayUtil.radixSort(Arrays.copyOf(longs, n)), repeat),
+                    time(() -> sortBoxedIndexes(Arrays.copyOf(ints, n)), repeat),
+                    time(() -> ArrayUtil.sortedIndexes(Arrays.copyOf(ints, n)), repeat));
+        }
+    }
+
+    // the usual way of sorting indexes by their keys, without a co-sort
+    private static Integer[] sortBoxedIndexes(int[] keys) {
+        Integer[] indexes = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> Integer.compare(keys[a], keys[b]));
+        return indexes;
+    }
+
+    // the best time of a few rounds, each running the sort the given amount of times
+    private static long time(Runnable sort, int repeat) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long startAt = System.currentTimeMillis();
+            for (int i = 0; i < repeat; i++) {
+                sort.run();
+            }
+            best = Math.min(best, System.currentTimeMillis() - startAt);
+        }
+        return best;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.adorow.template;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+/**
+ * Simple test to benchmark how the size of IO's buffers affects its throughput, when reading from and writing to file channels.
+ */
+public class IOBufferSizeBenchmark {
+
+    private static final int NUMBERS = 10000000;
+
+    public static void main(String[] args) throws IOException {
+        File input = File.createTempFile("buffersize", ".in");
+        input.deleteOnExit();
+        File output = File.createTempFile("buffersize", ".out");
+        output.deleteOnExit();
+        writeRandomNumbers(input, NUMBERS);
+
+        int[] xs = new int[NUMBERS];
+        // warm up
+        runBenchmarkFor(input, output, xs, 8192, false, false);
+        runBenchmarkFor(input, output, xs, 8192, true, false);
+
+        for (int bufferLength = 8192; bufferLength <= (1 << 20); bufferLength <<= 1) {
+            runBenchmarkFor(input, output, xs, bufferLength, false, true);
+            runBenchmarkFor(input, output, xs, bufferLength, true, true);
+        }
+    }
+
+    private static void writeRandomNumbers(File file, int amount) throws IOException {
+        Random random = new Random(42);
+        PrintWriter writer = new PrintWriter(file);
+        for (int i = 0; i < amount; i++) {
+            writer.print(random.nextInt());
+            writer.print(i % 10 == 9 ? '\n' : ' ');
+        }
+        writer.close();
+    }
+
+    private static void runBenchmarkFor(File input, File output, int[] xs, int bufferLength, boolean direct, boolean report) throws IOException {
+        FileInputStream in = new FileInputStream(input);
+        FileOutputStream out = new FileOutputStream(output);
+        IO io = new IO(in.getChannel(), out.getChannel(), bufferLength, bufferLength, direct);
+
+        final long startReadAt = System.currentTimeMillis();
+        io.readInts(xs, 0, xs.length);
+        final long endReadAt = System.currentTimeMillis();
+
+        final long startWriteAt = System.currentTimeMillis();
+        for (int x : xs) {
+            io.writeOutNumber(x);
+            io.writeOutLn();
+        }
+        io.flush();
+        final long endWriteAt = System.currentTimeMillis();
+
+        in.close();
+        out.close();
+        if (report) {
+            System.out.printf("buffers of %7d bytes (%s): read %4dms (%4d MB/s), write %4dms (%4d MB/s)%n",
+                    bufferLength, direct ? "direct" : "heap  ",
+                    endReadAt - startReadAt, throughput(input.length(), endReadAt - startReadAt),
+                    endWriteAt - startWriteAt, throughput(output.length(), endWriteAt - startWriteAt));
+        }
+    }
+
+    private static long throughput(long bytes, long millis) {
+        return bytes * 1000 / (1 << 20) / Math.max(1, millis);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.adorow.template;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+/**
+ * Simple test to benchmark how fast IO reads and writes {@code double}s, compared to the JDK's {@code Double.parseDouble(String)} and {@code String.format(String, Object...)}.
+ */
+public class IODoubleBenchmark {
+
+    private static final int NUMBERS = 2000000;
+
+    public static void main(String[] args) throws IOException {
+        File input = File.createTempFile("doubles", ".txt");
+        input.deleteOnExit();
+        File output = File.createTempFile("doubles", ".out");
+        output.deleteOnExit();
+        writeRandomDoubles(input, NUMBERS);
+
+        double[] xs = new double[NUMBERS];
+        for (int round = 0; round < 3; round++) {
+            runReadDoubleBenchmark(input, xs);
+            runParseDoubleBenchmark(input, xs);
+            runWriteOutDoubleBenchmark(output, xs);
+            runStringFormatBenchmark(output, xs);
+        }
+    }
+
+    private static void writeRandomDoubles(File file, int amount) throws IOException {
+        Random random = new Random(42);
+        PrintWriter writer = new PrintWriter(file);
+        for (int i = 0; i < amount; i++) {
+            writer.println(i % 2 == 0 ? random.nextGaussian() * 1e6 : random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+        }
+        writer.close();
+    }
+
+    private static void runReadDoubleBenchmark(File input, double[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileIn(input.getPath());
+        final long startAt = System.currentTimeMillis();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = io.readDouble();
+        }
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.readDouble() x %d: %dms%n", xs.length, endAt - startAt);
+    }
+
+    private static void runParseDoubleBenchmark(File input, double[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileIn(input.getPath());
+        final long startAt = System.currentTimeMillis();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = Double.parseDouble(io.readText(32));
+        }
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("Double.parseDouble(IO.readText()) x %d: %dms%n", xs.length, endAt - startAt);
+    }
+
+    private static void runWriteOutDoubleBenchmark(File output, double[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileOut(output.getPath());
+        final long startAt = System.currentTimeMillis();
+        for (double x : xs) {
+            io.writeOutDouble(x, 6);
+            io.writeOutLn();
+        }
+        io.flush();
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.writeOutDouble(x, 6) x %d: %dms%n", xs.length, endAt - startAt);
+    }
+
+    private static void runStringFormatBenchmark(File output, double[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileOut(output.getPath());
+        final long startAt = System.currentTimeMillis();
+        for (double x : xs) {
+            io.writeOutString(String.format("%.6f", x));
+            io.writeOutLn();
+        }
+        io.flush();
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.writeOutString(String.format(\"%%.6f\", x)) x %d: %dms%n", xs.length, endAt - startAt);
+    }
+
+}
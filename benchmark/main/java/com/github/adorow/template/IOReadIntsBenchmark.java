@@ -0,0 +1,59 @@
+package com.github.adorow.template;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+/**
+ * Simple test to benchmark how fast reading many numbers with IO#readInts(int[], int, int) is, compared to calling IO#readInt() in a loop.
+ */
+public class IOReadIntsBenchmark {
+
+    private static final int NUMBERS = 10000000;
+
+    public static void main(String[] args) throws IOException {
+        File input = File.createTempFile("readints", ".txt");
+        input.deleteOnExit();
+        writeRandomNumbers(input, NUMBERS);
+
+        int[] xs = new int[NUMBERS];
+        for (int round = 0; round < 3; round++) {
+            runReadIntBenchmark(input, xs);
+            runReadIntsBenchmark(input, xs);
+        }
+    }
+
+    private static void writeRandomNumbers(File file, int amount) throws IOException {
+        Random random = new Random(42);
+        PrintWriter writer = new PrintWriter(file);
+        for (int i = 0; i < amount; i++) {
+            writer.print(random.nextInt());
+            writer.print(i % 10 == 9 ? '\n' : ' ');
+        }
+        writer.close();
+    }
+
+    private static void runReadIntBenchmark(File input, int[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileIn(input.getPath());
+        final long startAt = System.currentTimeMillis();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = io.readInt();
+        }
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.readInt() x %d: %dms%n", xs.length, endAt - startAt);
+    }
+
+    private static void runReadIntsBenchmark(File input, int[] xs) throws IOException {
+        IO io = new IO();
+        io.useFileIn(input.getPath());
+        final long startAt = System.currentTimeMillis();
+        io.readInts(xs, 0, xs.length);
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.readInts(%d): %dms%n", xs.length, endAt - startAt);
+    }
+
+}
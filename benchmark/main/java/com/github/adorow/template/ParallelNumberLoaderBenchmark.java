@@ -0,0 +1,56 @@
+package com.github.adorow.template;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+/**
+ * Simple test to benchmark how fast ParallelNumberLoader loads a large file of numbers, compared to reading it with IO#readLongs(long[], int, int).
+ */
+public class ParallelNumberLoaderBenchmark {
+
+    private static final int NUMBERS = 20000000;
+
+    public static void main(String[] args) throws IOException {
+        File input = File.createTempFile("numbers", ".txt");
+        input.deleteOnExit();
+        writeRandomNumbers(input, NUMBERS);
+
+        System.out.printf("Available processors: %d%n", Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 3; round++) {
+            runReadLongsBenchmark(input);
+            runParallelLoaderBenchmark(input);
+        }
+    }
+
+    private static void writeRandomNumbers(File file, int amount) throws IOException {
+        Random random = new Random(42);
+        PrintWriter writer = new PrintWriter(file);
+        for (int i = 0; i < amount; i++) {
+            writer.print(random.nextLong());
+            writer.print('\n');
+        }
+        writer.close();
+    }
+
+    private static void runReadLongsBenchmark(File input) throws IOException {
+        IO io = new IO();
+        io.useMappedFileIn(input.getPath());
+        long[] xs = new long[NUMBERS];
+        final long startAt = System.currentTimeMillis();
+        io.readLongs(xs, 0, xs.length);
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("IO.readLongs(%d): %dms%n", xs.length, endAt - startAt);
+    }
+
+    private static void runParallelLoaderBenchmark(File input) throws IOException {
+        final long startAt = System.currentTimeMillis();
+        long[] xs = ParallelNumberLoader.readLongs(input.getPath());
+        final long endAt = System.currentTimeMillis();
+
+        System.out.printf("ParallelNumberLoader.readLongs(%d): %dms%n", xs.length, endAt - startAt);
+    }
+
+}
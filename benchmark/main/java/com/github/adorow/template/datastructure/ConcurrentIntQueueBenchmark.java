@@ -0,0 +1,151 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares SpscIntQueue and MpmcIntQueue with {@code ArrayBlockingQueue<Integer>}, handing 2*10^7 numbers from producer threads to consumer threads.<br/>
+ * The consumers add up everything they take, and the total is checked against the expected one, so that a lost or duplicated element is reported.
+ */
+public class ConcurrentIntQueueBenchmark {
+
+    private static final int ELEMENTS = 20000000;
+    private static final int CAPACITY = 1 << 14;
+    private static final int BATCH = 256;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            final boolean last = round == ROUNDS - 1;
+            report(last, "SpscIntQueue (1 -> 1)", runSpsc());
+            report(last, "MpmcIntQueue (2 -> 2)", runMpmc(2, 2));
+            report(last, "MpmcIntQueue (4 -> 4)", runMpmc(4, 4));
+            report(last, "ArrayBlockingQueue (1 -> 1)", runArrayBlockingQueue());
+        }
+    }
+
+    private static void report(boolean last, String name, long elapsed) {
+        if (last) {
+            System.out.printf("%-28s %5dms%n", name, elapsed);
+        }
+    }
+
+    private static void check(long sum) {
+        final long expected = (long) ELEMENTS * (ELEMENTS + 1) / 2;
+        if (sum != expected) {
+            throw new IllegalStateException("sum " + sum + " differs from the expected " + expected);
+        }
+    }
+
+    private static long runSpsc() throws InterruptedException {
+        final SpscIntQueue queue = new SpscIntQueue(CAPACITY);
+        final long[] sum = new long[1];
+        Thread consumer = new Thread(() -> {
+            int[] batch = new int[BATCH];
+            long total = 0;
+            int taken = 0;
+            while (taken < ELEMENTS) {
+                int n = queue.drainTo(batch, 0, BATCH);
+                if (n == 0) {
+                    Thread.yield();
+                }
+                for (int i = 0; i < n; i++) {
+                    total += batch[i];
+                }
+                taken += n;
+            }
+            sum[0] = total;
+        });
+        final long startAt = System.currentTimeMillis();
+        consumer.start();
+        int[] batch = new int[BATCH];
+        for (int next = 1; next <= ELEMENTS; ) {
+            int n = Math.min(BATCH, ELEMENTS - next + 1);
+            for (int i = 0; i < n; i++) {
+                batch[i] = next + i;
+            }
+            int offered = 0;
+            while (offered < n) {
+                int added = queue.offer(batch, offered, n - offered);
+                if (added == 0) {
+                    Thread.yield();
+                }
+                offered += added;
+            }
+            next += n;
+        }
+        consumer.join();
+        final long endAt = System.currentTimeMillis();
+        check(sum[0]);
+        return endAt - startAt;
+    }
+
+    private static long runMpmc(final int producers, final int consumers) throws InterruptedException {
+        final MpmcIntQueue queue = new MpmcIntQueue(CAPACITY);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong taken = new AtomicLong();
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            final int first = p + 1;
+            threads[p] = new Thread(() -> {
+                for (int v = first; v <= ELEMENTS; v += producers) {
+                    queue.put(v);
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads[producers + c] = new Thread(() -> {
+                int[] batch = new int[BATCH];
+                long total = 0;
+                while (taken.get() < ELEMENTS) {
+                    int n = queue.drainTo(batch, 0, BATCH);
+                    if (n == 0) {
+                        Thread.yield();
+                        continue;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        total += batch[i];
+                    }
+                    taken.addAndGet(n);
+                }
+                sum.addAndGet(total);
+            });
+        }
+        final long startAt = System.currentTimeMillis();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final long endAt = System.currentTimeMillis();
+        check(sum.get());
+        return endAt - startAt;
+    }
+
+    private static long runArrayBlockingQueue() throws InterruptedException {
+        final ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<Integer>(CAPACITY);
+        final long[] sum = new long[1];
+        Thread consumer = new Thread(() -> {
+            long total = 0;
+            try {
+                for (int i = 0; i < ELEMENTS; i++) {
+                    total += queue.take();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sum[0] = total;
+        });
+        final long startAt = System.currentTimeMillis();
+        consumer.start();
+        for (int v = 1; v <= ELEMENTS; v++) {
+            queue.put(v);
+        }
+        consumer.join();
+        final long endAt = System.currentTimeMillis();
+        check(sum[0]);
+        return endAt - startAt;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Compares IntHeap (with payloads, allowing duplicates) and IndexedIntHeap (with decrease-key) against {@code PriorityQueue<int[]>},
+ * as the priority queue of Dijkstra on a random graph with 10^5 nodes and 10^6 edges.
+ */
+public class DijkstraBenchmark {
+
+    private static final int NODES = 100000;
+    private static final int EDGES = 1000000;
+    private static final int MAX_WEIGHT = 1000;
+    private static final int ROUNDS = 5;
+
+    // the graph, as adjacency lists stored consecutively: the edges of node v go from first[v] to first[v + 1] - 1
+    private static final int[] first = new int[NODES + 1];
+    private static final int[] target = new int[EDGES];
+    private static final int[] weight = new int[EDGES];
+
+    public static void main(String[] args) {
+        buildGraph(new Random(42));
+        int[] dist = new int[NODES];
+        for (int round = 0; round < ROUNDS; round++) {
+            final boolean last = round == ROUNDS - 1;
+
+            long startAt = System.currentTimeMillis();
+            withPriorityQueue(dist);
+            report(last, "PriorityQueue<int[]>", System.currentTimeMillis() - startAt, dist);
+
+            startAt = System.currentTimeMillis();
+            withIntHeap(dist);
+            report(last, "IntHeap", System.currentTimeMillis() - startAt, dist);
+
+            startAt = System.currentTimeMillis();
+            withIndexedIntHeap(dist);
+            report(last, "IndexedIntHeap", System.currentTimeMillis() - startAt, dist);
+        }
+    }
+
+    private static void report(boolean last, String name, long elapsed, int[] dist) {
+        if (last) {
+            long checksum = 0;
+            for (int d : dist) {
+                checksum += d;
+            }
+            System.out.printf("%-20s %5dms (checksum %d)%n", name, elapsed, checksum);
+        }
+    }
+
+    private static void buildGraph(Random random) {
+        int[] from = new int[EDGES];
+        for (int e = 0; e < EDGES; e++) {
+            // a path through all the nodes, so that every node is reachable, plus random edges
+            from[e] = e < NODES - 1 ? e : random.nextInt(NODES);
+            first[from[e] + 1]++;
+        }
+        for (int v = 0; v < NODES; v++) {
+            first[v + 1] += first[v];
+        }
+        int[] next = Arrays.copyOf(first, NODES);
+        for (int e = 0; e < EDGES; e++) {
+            int slot = next[from[e]]++;
+            target[slot] = e < NODES - 1 ? e + 1 : random.nextInt(NODES);
+            weight[slot] = 1 + random.nextInt(MAX_WEIGHT);
+        }
+    }
+
+    private static void withPriorityQueue(int[] dist) {
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        PriorityQueue<int[]> queue = new PriorityQueue<int[]>((a, b) -> Integer.compare(a[0], b[0]));
+        dist[0] = 0;
+        queue.add(new int[]{0, 0});
+        while (!queue.isEmpty()) {
+            int[] top = queue.poll();
+            int v = top[1];
+            if (top[0] > dist[v])
+                continue;
+            for (int e = first[v]; e < first[v + 1]; e++) {
+                int d = top[0] + weight[e];
+                if (d < dist[target[e]]) {
+                    dist[target[e]] = d;
+                    queue.add(new int[]{d, target[e]});
+                }
+            }
+        }
+    }
+
+    private static void withIntHeap(int[] dist) {
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        IntHeap heap = new IntHeap(NODES, true);
+        dist[0] = 0;
+        heap.push(0, 0);
+        while (!heap.isEmpty()) {
+            int v = heap.peekPayload();
+            int key = heap.pop();
+            if (key > dist[v])
+                continue;
+            for (int e = first[v]; e < first[v + 1]; e++) {
+                int d = key + weight[e];
+                if (d < dist[target[e]]) {
+                    dist[target[e]] = d;
+                    heap.push(d, target[e]);
+                }
+            }
+        }
+    }
+
+    private static void withIndexedIntHeap(int[] dist) {
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        IndexedIntHeap heap = new IndexedIntHeap(NODES);
+        dist[0] = 0;
+        heap.push(0, 0);
+        while (!heap.isEmpty()) {
+            int v = heap.pop();
+            int key = heap.key(v);
+            for (int e = first[v]; e < first[v + 1]; e++) {
+                int d = key + weight[e];
+                if (d < dist[target[e]]) {
+                    dist[target[e]] = d;
+                    heap.pushOrDecrease(target[e], d);
+                }
+            }
+        }
+    }
+
+}
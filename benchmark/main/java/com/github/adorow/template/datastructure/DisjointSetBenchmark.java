@@ -0,0 +1,71 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares DisjointSet with ConcurrentDisjointSet, used from a single thread and in parallel, joining 10^7 elements with 2*10^7 random pairs
+ * and then checking which of them are connected.<br/>
+ * The amount of sets found is printed, so that all of them can be checked to agree.
+ */
+public class DisjointSetBenchmark {
+
+    private static final int ELEMENTS = 10000000;
+    private static final int PAIRS = 20000000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int[] as = new int[PAIRS];
+        int[] bs = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            as[i] = random.nextInt(ELEMENTS);
+            bs[i] = random.nextInt(ELEMENTS);
+        }
+        System.out.printf("parallelism: %d%n", ForkJoinPool.commonPool().getParallelism());
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final boolean last = round == ROUNDS - 1;
+
+            long startAt = System.currentTimeMillis();
+            DisjointSet set = new DisjointSet(ELEMENTS);
+            set.unionAll(as, bs);
+            int roots = 0;
+            for (int i = 0; i < ELEMENTS; i++) {
+                if (set.find(i) == i) {
+                    roots++;
+                }
+            }
+            report(last, "DisjointSet", System.currentTimeMillis() - startAt, roots);
+
+            startAt = System.currentTimeMillis();
+            ConcurrentDisjointSet concurrent = new ConcurrentDisjointSet(ELEMENTS);
+            for (int i = 0; i < PAIRS; i++) {
+                concurrent.union(as[i], bs[i]);
+            }
+            report(last, "ConcurrentDisjointSet (1 thread)", System.currentTimeMillis() - startAt, countRoots(concurrent));
+
+            startAt = System.currentTimeMillis();
+            concurrent = new ConcurrentDisjointSet(ELEMENTS);
+            concurrent.unionAll(as, bs);
+            report(last, "ConcurrentDisjointSet (parallel)", System.currentTimeMillis() - startAt, countRoots(concurrent));
+        }
+    }
+
+    private static int countRoots(ConcurrentDisjointSet set) {
+        int roots = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            if (set.find(i) == i) {
+                roots++;
+            }
+        }
+        return roots;
+    }
+
+    private static void report(boolean last, String name, long elapsed, int sets) {
+        if (last) {
+            System.out.printf("%-34s %5dms (%d sets)%n", name, elapsed, sets);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Compares IntIntHashMap with {@code HashMap<Integer, Integer>}, counting the occurrences of 10^7 random numbers and then looking all of them up,
+ * and measures the memory each map holds at the end.<br/>
+ * Needs a heap of about 1.5GB for the HashMap (-Xmx1500m).
+ */
+public class IntIntHashMapBenchmark {
+
+    private static final int ENTRIES = 10000000;
+
+    public static void main(String[] args) {
+        int[] keys = new int[ENTRIES];
+        Random random = new Random(42);
+        for (int i = 0; i < ENTRIES; i++) {
+            keys[i] = random.nextInt();
+        }
+        // a smaller warm up round for each, then the measured one
+        runIntIntHashMap(keys, ENTRIES / 10, false);
+        runHashMap(keys, ENTRIES / 10, false);
+        runIntIntHashMap(keys, ENTRIES, true);
+        runHashMap(keys, ENTRIES, true);
+    }
+
+    private static void runIntIntHashMap(int[] keys, int n, boolean report) {
+        final long memoryBefore = usedMemory();
+        long startAt = System.currentTimeMillis();
+        IntIntHashMap map = new IntIntHashMap(16);
+        for (int i = 0; i < n; i++) {
+            map.add(keys[i], 1);
+        }
+        final long inserted = System.currentTimeMillis();
+        long checksum = 0;
+        for (int i = 0; i < n; i++) {
+            checksum += map.get(keys[i], 0);
+        }
+        final long endAt = System.currentTimeMillis();
+        final long memory = usedMemory() - memoryBefore;
+        if (report) {
+            System.out.printf("IntIntHashMap:           insert %5dms, lookup %5dms, %4d MB (checksum %d, size %d)%n",
+                    inserted - startAt, endAt - inserted, memory >> 20, checksum, map.size());
+        }
+    }
+
+    private static void runHashMap(int[] keys, int n, boolean report) {
+        final long memoryBefore = usedMemory();
+        long startAt = System.currentTimeMillis();
+        HashMap<Integer, Integer> map = new HashMap<Integer, Integer>(16);
+        for (int i = 0; i < n; i++) {
+            map.merge(keys[i], 1, Integer::sum);
+        }
+        final long inserted = System.currentTimeMillis();
+        long checksum = 0;
+        for (int i = 0; i < n; i++) {
+            checksum += map.get(keys[i]);
+        }
+        final long endAt = System.currentTimeMillis();
+        final long memory = usedMemory() - memoryBefore;
+        if (report) {
+            System.out.printf("HashMap<Integer,Integer>: insert %5dms, lookup %5dms, %4d MB (checksum %d, size %d)%n",
+                    inserted - startAt, endAt - inserted, memory >> 20, checksum, map.size());
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.ArrayDeque;
+
+/**
+ * Compares IntQueue, in its growing and unchecked modes, with Queue and {@code ArrayDeque<Integer>}, on a BFS-like workload:
+ * the queue is filled up to a frontier, and then elements are dequeued and enqueued again until the total amount of operations is reached.
+ */
+public class IntQueueBenchmark {
+
+    private static final int OPERATIONS = 100000000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        for (int frontier : new int[]{16, 1 << 10, 1 << 16, 1 << 20}) {
+            for (int round = 0; round < ROUNDS; round++) {
+                final boolean last = round == ROUNDS - 1;
+                report(last, "IntQueue (growing)", frontier, runIntQueue(frontier, false));
+                report(last, "IntQueue (unchecked)", frontier, runIntQueue(frontier, true));
+                report(last, "Queue<Integer>", frontier, runQueue(frontier));
+                report(last, "ArrayDeque<Integer>", frontier, runArrayDeque(frontier));
+            }
+        }
+    }
+
+    private static void report(boolean last, String name, int frontier, long elapsed) {
+        if (last) {
+            System.out.printf("%-22s frontier %8d: %5dms%n", name, frontier, elapsed);
+        }
+    }
+
+    private static long runIntQueue(int frontier, boolean unchecked) {
+        final long startAt = System.currentTimeMillis();
+        // the growing queue starts small, so that it grows up to the frontier
+        IntQueue queue = new IntQueue(unchecked ? frontier : 16);
+        long checksum = 0;
+        for (int i = 0; i < frontier; i++) {
+            if (unchecked) {
+                queue.enqueueUnchecked(i);
+            } else {
+                queue.enqueue(i);
+            }
+        }
+        for (int i = frontier; i < OPERATIONS; i++) {
+            int v = queue.dequeue();
+            checksum += v;
+            if (unchecked) {
+                queue.enqueueUnchecked(v + 1);
+            } else {
+                queue.enqueue(v + 1);
+            }
+        }
+        final long endAt = System.currentTimeMillis();
+        check(checksum);
+        return endAt - startAt;
+    }
+
+    private static long runQueue(int frontier) {
+        final long startAt = System.currentTimeMillis();
+        Queue<Integer> queue = new Queue<Integer>(16);
+        long checksum = 0;
+        for (int i = 0; i < frontier; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = frontier; i < OPERATIONS; i++) {
+            int v = queue.dequeue();
+            checksum += v;
+            queue.enqueue(v + 1);
+        }
+        final long endAt = System.currentTimeMillis();
+        check(checksum);
+        return endAt - startAt;
+    }
+
+    private static long runArrayDeque(int frontier) {
+        final long startAt = System.currentTimeMillis();
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>(16);
+        long checksum = 0;
+        for (int i = 0; i < frontier; i++) {
+            queue.addLast(i);
+        }
+        for (int i = frontier; i < OPERATIONS; i++) {
+            int v = queue.pollFirst();
+            checksum += v;
+            queue.addLast(v + 1);
+        }
+        final long endAt = System.currentTimeMillis();
+        check(checksum);
+        return endAt - startAt;
+    }
+
+    // keeps the JIT from dropping the work done
+    private static void check(long checksum) {
+        if (checksum == 42) {
+            System.out.println("unlikely");
+        }
+    }
+
+}
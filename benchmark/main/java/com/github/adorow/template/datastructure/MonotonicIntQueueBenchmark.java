@@ -0,0 +1,59 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Compares MonotonicIntQueue with the usual monotonic queue over an {@code ArrayDeque<Integer>} of positions,
+ * computing the minimum of every window of a stream of 10^7 random numbers.
+ */
+public class MonotonicIntQueueBenchmark {
+
+    private static final int LENGTH = 10000000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] xs = new int[LENGTH];
+        Random random = new Random(42);
+        for (int i = 0; i < LENGTH; i++) {
+            xs[i] = random.nextInt();
+        }
+        int[] dst = new int[LENGTH];
+
+        for (int window : new int[]{10, 1000, 100000}) {
+            long monotonic = 0, arrayDeque = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                MonotonicIntQueue queue = new MonotonicIntQueue(window, false);
+                long startAt = System.currentTimeMillis();
+                queue.slide(xs, 0, LENGTH, dst);
+                monotonic = System.currentTimeMillis() - startAt;
+                final int check = dst[LENGTH - window];
+
+                startAt = System.currentTimeMillis();
+                slideWithArrayDeque(xs, window, dst);
+                arrayDeque = System.currentTimeMillis() - startAt;
+                if (dst[LENGTH - window] != check) {
+                    throw new IllegalStateException("different results");
+                }
+            }
+            System.out.printf("window %6d: MonotonicIntQueue %4dms, ArrayDeque<Integer> %4dms%n", window, monotonic, arrayDeque);
+        }
+    }
+
+    private static void slideWithArrayDeque(int[] xs, int window, int[] dst) {
+        ArrayDeque<Integer> positions = new ArrayDeque<Integer>();
+        for (int i = 0; i < xs.length; i++) {
+            while (!positions.isEmpty() && xs[positions.peekLast()] >= xs[i]) {
+                positions.pollLast();
+            }
+            positions.addLast(i);
+            if (positions.peekFirst() <= i - window) {
+                positions.pollFirst();
+            }
+            if (i >= window - 1) {
+                dst[i - window + 1] = xs[positions.peekFirst()];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Random;
+
+/**
+ * Measures FenwickTree, LazySegmentTree and SparseTable on arrays of 10^6 and 10^7 elements, with 10^7 random operations each:
+ * point updates and range sums for the Fenwick tree, range additions and range sums and minimums for the segment tree, and range minimums for the sparse table.<br/>
+ * Needs a heap of about 3GB for the largest arrays (-Xmx3g).
+ */
+public class RangeQueryBenchmark {
+
+    private static final int OPERATIONS = 10000000;
+
+    public static void main(String[] args) {
+        for (int n : new int[]{1000000, 10000000}) {
+            Random random = new Random(42);
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(1000000);
+            }
+            // the ranges, drawn up front so that drawing them is not measured
+            int[] from = new int[OPERATIONS];
+            int[] to = new int[OPERATIONS];
+            for (int q = 0; q < OPERATIONS; q++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                from[q] = Math.min(a, b);
+                to[q] = Math.max(a, b) + 1;
+            }
+
+            long startAt = System.currentTimeMillis();
+            FenwickTree fenwick = new FenwickTree(values);
+            final long fenwickBuilt = System.currentTimeMillis();
+            long checksum = 0;
+            for (int q = 0; q < OPERATIONS; q++) {
+                if ((q & 1) == 0) {
+                    fenwick.add(from[q], q);
+                } else {
+                    checksum += fenwick.sum(from[q], to[q]);
+                }
+            }
+            long endAt = System.currentTimeMillis();
+            report("FenwickTree", n, fenwickBuilt - startAt, endAt - fenwickBuilt, checksum);
+            fenwick = null;
+
+            startAt = System.currentTimeMillis();
+            LazySegmentTree segmentTree = new LazySegmentTree(values);
+            final long segmentTreeBuilt = System.currentTimeMillis();
+            checksum = 0;
+            for (int q = 0; q < OPERATIONS; q++) {
+                switch (q % 3) {
+                    case 0:
+                        segmentTree.add(from[q], to[q], q & 15);
+                        break;
+                    case 1:
+                        checksum += segmentTree.sum(from[q], to[q]);
+                        break;
+                    default:
+                        checksum += segmentTree.min(from[q], to[q]);
+                }
+            }
+            endAt = System.currentTimeMillis();
+            report("LazySegmentTree", n, segmentTreeBuilt - startAt, endAt - segmentTreeBuilt, checksum);
+            segmentTree = null;
+
+            startAt = System.currentTimeMillis();
+            SparseTable sparseTable = new SparseTable(values, false);
+            final long sparseTableBuilt = System.currentTimeMillis();
+            checksum = 0;
+            for (int q = 0; q < OPERATIONS; q++) {
+                checksum += sparseTable.query(from[q], to[q]);
+            }
+            endAt = System.currentTimeMillis();
+            report("SparseTable", n, sparseTableBuilt - startAt, endAt - sparseTableBuilt, checksum);
+        }
+    }
+
+    private static void report(String name, int n, long buildTime, long operationsTime, long checksum) {
+        System.out.printf("%-16s n = %8d: build %5dms, %d operations %5dms (%3d ns/op, checksum %d)%n",
+                name, n, buildTime, OPERATIONS, operationsTime, operationsTime * 1000000 / OPERATIONS, checksum);
+    }
+
+}
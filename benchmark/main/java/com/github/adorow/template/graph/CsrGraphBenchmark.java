@@ -0,0 +1,89 @@
+package com.github.adorow.template.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares CsrGraph with the usual {@code List<List<Integer>>} adjacency lists, on a random directed graph with 10^6 nodes and 10^7 edges:
+ * the time to build it, the memory it holds, and the time of a BFS over it.<br/>
+ * Needs a heap of about 1.5GB for the lists (-Xmx1500m).
+ */
+public class CsrGraphBenchmark {
+
+    private static final int NODES = 1000000;
+    private static final int EDGES = 10000000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int[] from = new int[EDGES];
+        int[] to = new int[EDGES];
+        for (int e = 0; e < EDGES; e++) {
+            from[e] = random.nextInt(NODES);
+            to[e] = random.nextInt(NODES);
+        }
+        int[] dist = new int[NODES];
+
+        long memoryBefore = usedMemory();
+        long startAt = System.currentTimeMillis();
+        CsrGraph.Builder builder = new CsrGraph.Builder(NODES, EDGES, true, CsrGraph.UNWEIGHTED);
+        for (int e = 0; e < EDGES; e++) {
+            builder.addEdge(from[e], to[e]);
+        }
+        CsrGraph graph = builder.build();
+        builder = null;
+        long built = System.currentTimeMillis();
+        long memory = usedMemory() - memoryBefore;
+        long bfsAt = System.currentTimeMillis();
+        int reached = graph.bfs(0, dist);
+        long endAt = System.currentTimeMillis();
+        System.out.printf("CsrGraph:            build %5dms, %4d MB, bfs %5dms (reached %d)%n", built - startAt, memory >> 20, endAt - bfsAt, reached);
+        graph = null;
+
+        memoryBefore = usedMemory();
+        startAt = System.currentTimeMillis();
+        List<List<Integer>> lists = new ArrayList<List<Integer>>(NODES);
+        for (int v = 0; v < NODES; v++) {
+            lists.add(new ArrayList<Integer>());
+        }
+        for (int e = 0; e < EDGES; e++) {
+            lists.get(from[e]).add(to[e]);
+        }
+        built = System.currentTimeMillis();
+        memory = usedMemory() - memoryBefore;
+        bfsAt = System.currentTimeMillis();
+        reached = bfs(lists, 0, dist);
+        endAt = System.currentTimeMillis();
+        System.out.printf("List<List<Integer>>: build %5dms, %4d MB, bfs %5dms (reached %d)%n", built - startAt, memory >> 20, endAt - bfsAt, reached);
+    }
+
+    private static int bfs(List<List<Integer>> lists, int source, int[] dist) {
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        dist[source] = 0;
+        queue.add(source);
+        int reached = 1;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int v : lists.get(u)) {
+                if (dist[v] < 0) {
+                    dist[v] = dist[u] + 1;
+                    queue.add(v);
+                    reached++;
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.adorow.template.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates the collections specialized for each primitive type (IntQueue, LongStack, ...) from a single template per collection,
+ * so that all of them stay in sync and none of them boxes its elements.<br/>
+ * In the templates, {@code $Type$} is replaced by the capitalized name of the type ({@code Long}), and {@code $type$} by the type itself ({@code long}).
+ * <br/>
+ * Run from the root of the repository, after changing a template: {@code java codegen/main/java/com/github/adorow/template/codegen/PrimitiveCollectionsGenerator.java}
+ * (or compile it first, on Java 8).
+ */
+public class PrimitiveCollectionsGenerator {
+
+    private static final String TEMPLATES = "codegen/templates";
+    private static final String OUTPUT = "src/main/java/com/github/adorow/template/datastructure";
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : ".");
+        generate(root, "Queue", "int", "long", "double");
+        generate(root, "Stack", "int", "long", "double", "char");
+        generate(root, "Heap", "int", "long");
+    }
+
+    // writes one class for each type, from the template of the given collection
+    private static void generate(Path root, String collection, String... types) throws IOException {
+        String template = new String(Files.readAllBytes(root.resolve(TEMPLATES).resolve(collection + ".template")), StandardCharsets.UTF_8);
+        for (String type : types) {
+            String typeName = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+            String code = template.replace("$Type$", typeName).replace("$type$", type);
+            Path file = root.resolve(OUTPUT).resolve(typeName + collection + ".java");
+            Files.write(file, code.getBytes(StandardCharsets.UTF_8));
+            System.out.println("generated " + file);
+        }
+    }
+
+}
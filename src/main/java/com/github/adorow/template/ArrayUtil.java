@@ -1,10 +1,27 @@
 package com.github.adorow.template;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
 /**
  * Util class with helper functions for dealing with arrays. Normally used as base functions to be tweaked in new code.
  */
 public class ArrayUtil {
 
+    // radix sorts use digits of 11 bits: 3 passes for ints, 6 for longs, with histograms small enough to stay in the L1 cache
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    // below this length, radix sorts are not worth their extra buffer and passes
+    private static final int RADIX_SORT_THRESHOLD = 1 << 12;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    // below this length, sorting in parallel is not worth splitting the work
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 20;
+    // the parallel sort splits the array into buckets by the highest 8 bits of the numbers
+    private static final int BUCKET_BITS = 8;
+
     private ArrayUtil() {}
 
     /**
@@ -106,4 +123,269 @@ public class ArrayUtil {
         return mid;
     }
 
+    // SORTING FUNCTIONS
+
+    /**
+     * Sorts an array of {@code int}s with an LSD radix sort, which is faster than {@code Arrays.sort(int[])} on large arrays.<br/>
+     * Numbers are sorted by 3 digits of 11 bits, from the lowest to the highest, each in one stable pass that counts and then scatters them into a buffer.
+     * The histograms of all digits are counted in a single read of the array, and passes where all the numbers share the same digit are skipped.
+     * Negative numbers are handled by flipping the sign bit of each number when taking its digits. Small arrays are left to {@code Arrays.sort(int[])}.
+     *
+     * @param xs the array to be sorted.
+     */
+    public static void radixSort(int[] xs) {
+        radixSort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sorts a range of an array of {@code int}s with an LSD radix sort. See #radixSort(int[]).
+     *
+     * @param xs the array to be sorted.
+     * @param from the first index of the range.
+     * @param to the index after the last one of the range.
+     */
+    public static void radixSort(int[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < RADIX_SORT_THRESHOLD) {
+            Arrays.sort(xs, from, to);
+            return;
+        }
+        final int passes = 3;
+        final int[] counts = new int[passes * RADIX];
+        for (int i = from; i < to; i++) {
+            final int key = xs[i] ^ Integer.MIN_VALUE;
+            counts[key & RADIX_MASK]++;
+            counts[RADIX + ((key >>> RADIX_BITS) & RADIX_MASK)]++;
+            counts[2 * RADIX + (key >>> (2 * RADIX_BITS))]++;
+        }
+        int[] src = xs, dst = new int[n];
+        int srcFrom = from, dstFrom = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            final int shift = pass * RADIX_BITS;
+            final int base = pass * RADIX;
+            if (counts[base + (((xs[from] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)] == n)
+                continue;
+            toOffsets(counts, base);
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                final int x = src[i];
+                dst[dstFrom + counts[base + (((x ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)]++] = x;
+            }
+            int[] tmp = src; src = dst; dst = tmp;
+            int tmpFrom = srcFrom; srcFrom = dstFrom; dstFrom = tmpFrom;
+        }
+        if (src != xs) {
+            System.arraycopy(src, srcFrom, xs, from, n);
+        }
+    }
+
+    /**
+     * Sorts an array of {@code long}s with an LSD radix sort, which is faster than {@code Arrays.sort(long[])} on large arrays.<br/>
+     * Works as #radixSort(int[]), with 6 digits of 11 bits.
+     *
+     * @param xs the array to be sorted.
+     */
+    public static void radixSort(long[] xs) {
+        radixSort(xs, 0, xs.length);
+    }
+
+    /**
+     * Sorts a range of an array of {@code long}s with an LSD radix sort. See #radixSort(long[]).
+     *
+     * @param xs the array to be sorted.
+     * @param from the first index of the range.
+     * @param to the index after the last one of the range.
+     */
+    public static void radixSort(long[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < RADIX_SORT_THRESHOLD) {
+            Arrays.sort(xs, from, to);
+            return;
+        }
+        final int passes = 6;
+        final int[] counts = new int[passes * RADIX];
+        for (int i = from; i < to; i++) {
+            final long key = xs[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass * RADIX + (int) ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+        long[] src = xs, dst = new long[n];
+        int srcFrom = from, dstFrom = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            final int shift = pass * RADIX_BITS;
+            final int base = pass * RADIX;
+            if (counts[base + (int) (((xs[from] ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK)] == n)
+                continue;
+            toOffsets(counts, base);
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                final long x = src[i];
+                dst[dstFrom + counts[base + (int) (((x ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK)]++] = x;
+            }
+            long[] tmp = src; src = dst; dst = tmp;
+            int tmpFrom = srcFrom; srcFrom = dstFrom; dstFrom = tmpFrom;
+        }
+        if (src != xs) {
+            System.arraycopy(src, srcFrom, xs, from, n);
+        }
+    }
+
+    /**
+     * Sorts an array of {@code int} keys, moving the values at the same indexes along with them (co-sort), with a stable LSD radix sort.<br/>
+     * Elements with equal keys keep their relative order, so the values can be used, for example, to sort a permutation by the keys.
+     *
+     * @param keys the keys to be sorted.
+     * @param values the values that go with the keys, with at least as many elements as the keys.
+     */
+    public static void radixSort(int[] keys, int[] values) {
+        final int n = keys.length;
+        if (n < INSERTION_SORT_THRESHOLD) {
+            // stable, and without the buffers
+            for (int i = 1; i < n; i++) {
+                final int key = keys[i];
+                final int value = values[i];
+                int j = i - 1;
+                while (j >= 0 && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                values[j + 1] = value;
+            }
+            return;
+        }
+        final int passes = 3;
+        final int[] counts = new int[passes * RADIX];
+        for (int i = 0; i < n; i++) {
+            final int key = keys[i] ^ Integer.MIN_VALUE;
+            counts[key & RADIX_MASK]++;
+            counts[RADIX + ((key >>> RADIX_BITS) & RADIX_MASK)]++;
+            counts[2 * RADIX + (key >>> (2 * RADIX_BITS))]++;
+        }
+        int[] srcKeys = keys, srcValues = values, dstKeys = new int[n], dstValues = new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            final int shift = pass * RADIX_BITS;
+            final int base = pass * RADIX;
+            if (counts[base + (((keys[0] ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)] == n)
+                continue;
+            toOffsets(counts, base);
+            for (int i = 0; i < n; i++) {
+                final int key = srcKeys[i];
+                final int position = counts[base + (((key ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK)]++;
+                dstKeys[position] = key;
+                dstValues[position] = srcValues[i];
+            }
+            int[] tmp = srcKeys; srcKeys = dstKeys; dstKeys = tmp;
+            tmp = srcValues; srcValues = dstValues; dstValues = tmp;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    /**
+     * The indexes of an array, in the order that sorts its elements. Elements with equal keys keep their relative order.
+     *
+     * @param keys the array of elements, which is not changed.
+     * @return the permutation p of the indexes, such that {@code keys[p[0]] <= keys[p[1]] <= ...}.
+     */
+    public static int[] sortedIndexes(int[] keys) {
+        final int[] sortedKeys = keys.clone();
+        final int[] indexes = new int[keys.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        radixSort(sortedKeys, indexes);
+        return indexes;
+    }
+
+    /**
+     * Sorts an array of {@code int}s using all the available cores, for arrays above a million elements (smaller ones are sorted with #radixSort(int[])).<br/>
+     * The array is split into chunks, which count in parallel how many of their numbers fall in each bucket of the highest 8 bits (an MSD pass),
+     * and then scatter in parallel their numbers into their buckets of a buffer. Each bucket is then radix sorted in parallel, and copied back.
+     *
+     * @param xs the array to be sorted.
+     */
+    public static void parallelRadixSort(final int[] xs) {
+        final int n = xs.length;
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (n < PARALLEL_SORT_THRESHOLD || pool.getParallelism() < 2) {
+            radixSort(xs);
+            return;
+        }
+        final int buckets = 1 << BUCKET_BITS;
+        final int bucketShift = 32 - BUCKET_BITS;
+        final int chunks = pool.getParallelism() * 4;
+        final int chunkLength = (n + chunks - 1) / chunks;
+        final int[][] counts = new int[chunks][buckets];
+        pool.invoke(new ParallelFor(0, chunks, chunk -> {
+            final int[] count = counts[chunk];
+            for (int i = chunk * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                count[(xs[i] ^ Integer.MIN_VALUE) >>> bucketShift]++;
+            }
+        }));
+        // each chunk writes its numbers of each bucket after those of the same bucket in the previous chunks
+        final int[] bucketStart = new int[buckets + 1];
+        int offset = 0;
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b] = offset;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                final int count = counts[chunk][b];
+                counts[chunk][b] = offset;
+                offset += count;
+            }
+        }
+        bucketStart[buckets] = n;
+        final int[] buffer = new int[n];
+        pool.invoke(new ParallelFor(0, chunks, chunk -> {
+            final int[] position = counts[chunk];
+            for (int i = chunk * chunkLength, end = Math.min(n, i + chunkLength); i < end; i++) {
+                final int x = xs[i];
+                buffer[position[(x ^ Integer.MIN_VALUE) >>> bucketShift]++] = x;
+            }
+        }));
+        pool.invoke(new ParallelFor(0, buckets, b -> {
+            radixSort(buffer, bucketStart[b], bucketStart[b + 1]);
+            System.arraycopy(buffer, bucketStart[b], xs, bucketStart[b], bucketStart[b + 1] - bucketStart[b]);
+        }));
+    }
+
+    // turns the counts of a digit into the position of the first number with each value of the digit
+    private static void toOffsets(int[] counts, int base) {
+        int offset = 0;
+        for (int d = base; d < base + RADIX; d++) {
+            final int count = counts[d];
+            counts[d] = offset;
+            offset += count;
+        }
+    }
+
+    // runs the body for each index of a range, splitting the range in halves between the threads of the pool
+    private static final class ParallelFor extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ParallelFor(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ParallelFor(from, middle, body), new ParallelFor(middle, to, body));
+        }
+
+    }
+
 }
@@ -0,0 +1,294 @@
+package com.github.adorow.template;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view over a slice of bytes, seen as a sequence of characters (one byte per character).<br/>
+ * It is used to look at the input without copying it into new {@code String}s or {@code char[]}s.
+ * Slices returned by IO are reused, and their content changes on the next read from the input; use #copy() or #toString() to keep them.
+ */
+public final class ByteSlice implements CharSequence, Comparable<ByteSlice> {
+
+    private ByteBuffer bytes;
+    private int offset;
+    private int length;
+
+    // where the next word starts, when iterating over the words of the slice
+    private int cursor;
+    private ByteSlice word;
+
+    /**
+     * Creates an empty slice.
+     */
+    public ByteSlice() {
+        set(ByteBuffer.allocate(0), 0, 0);
+    }
+
+    /**
+     * Creates a slice holding the characters of a {@code String}, useful as a key to compare slices against.
+     */
+    public ByteSlice(String str) {
+        byte[] content = new byte[str.length()];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) str.charAt(i);
+        }
+        set(ByteBuffer.wrap(content), 0, content.length);
+    }
+
+    // points this slice to a new region of bytes
+    void set(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.cursor = 0;
+    }
+
+    /**
+     * The amount of characters in the slice.
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Tells whether the slice has no characters.
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * The byte at a given index of the slice. No boundary checks are done.
+     */
+    public byte byteAt(int index) {
+        return bytes.get(offset + index);
+    }
+
+    /**
+     * The character at a given index of the slice. No boundary checks are done.
+     */
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(offset + index) & 0xff);
+    }
+
+    /**
+     * Creates a new slice viewing a part of this one. The new slice shares the content of this one, so it also changes on the next read.
+     */
+    @Override
+    public ByteSlice subSequence(int start, int end) {
+        ByteSlice sub = new ByteSlice();
+        sub.set(bytes, offset + start, end - start);
+        return sub;
+    }
+
+    /**
+     * Tells whether there is still a word to be iterated over in the slice, from the last one returned by #nextToken().
+     */
+    public boolean hasNextToken() {
+        while (cursor < length && (bytes.get(offset + cursor) & 0xff) < 33) {
+            cursor++;
+        }
+        return cursor < length;
+    }
+
+    /**
+     * Returns the next word of the slice, as a slice of it. This is useful to go through the words of a line read by IO#readLine().<br/>
+     * The returned slice is reused by every call, and #hasNextToken() must be checked before calling this method.
+     */
+    public ByteSlice nextToken() {
+        hasNextToken();
+        final int start = cursor;
+        while (cursor < length && (bytes.get(offset + cursor) & 0xff) > 32) {
+            cursor++;
+        }
+        if (word == null) {
+            word = new ByteSlice();
+        }
+        word.set(bytes, offset + start, cursor - start);
+        return word;
+    }
+
+    /**
+     * Creates a new slice with a copy of the content of this one, that is not affected by further reads.
+     */
+    public ByteSlice copy() {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = bytes.get(offset + i);
+        }
+        ByteSlice copy = new ByteSlice();
+        copy.set(ByteBuffer.wrap(content), 0, length);
+        return copy;
+    }
+
+    /**
+     * Parses the slice as an {@code int}.
+     */
+    public int toInt() {
+        return (int) toLong();
+    }
+
+    /**
+     * Parses the slice as a {@code long}.
+     */
+    public long toLong() {
+        int i = offset;
+        final int end = offset + length;
+        boolean minus = false;
+        if (i < end && bytes.get(i) == '-') {
+            minus = true;
+            i++;
+        } else if (i < end && bytes.get(i) == '+') {
+            i++;
+        }
+        long v = 0;
+        for (; i < end; i++) {
+            v *= 10;
+            v += (bytes.get(i) - '0');
+        }
+        return minus ? -v : v;
+    }
+
+    /**
+     * Parses the slice as a {@code double}, correctly rounded, like {@code Double.parseDouble(String)} does.<br/>
+     * Numbers in the usual formats ({@code 12}, {@code -0.5}, {@code 1.5e-7}) are parsed without creating a {@code String}.
+     *
+     * @throws NumberFormatException if the slice is not a number.
+     */
+    public double toDouble() {
+        int i = offset;
+        final int end = offset + length;
+        boolean negative = false;
+        if (i < end && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        long significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean anyDigit = false;
+        int cur;
+        for (; i < end && (cur = bytes.get(i) - '0') >= 0 && cur <= 9; i++) {
+            anyDigit = true;
+            if (significantDigits < 19) {
+                significand = significand * 10 + cur;
+                if (significand != 0)
+                    significantDigits++;
+            } else {
+                exponent++;
+                truncated |= cur != 0;
+            }
+        }
+        if (i < end && bytes.get(i) == '.') {
+            for (i++; i < end && (cur = bytes.get(i) - '0') >= 0 && cur <= 9; i++) {
+                anyDigit = true;
+                if (significantDigits < 19) {
+                    significand = significand * 10 + cur;
+                    if (significand != 0)
+                        significantDigits++;
+                    exponent--;
+                } else {
+                    truncated |= cur != 0;
+                }
+            }
+        }
+        if (anyDigit && i < end && (bytes.get(i) == 'e' || bytes.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+                negativeExponent = bytes.get(i) == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            boolean anyExponentDigit = false;
+            for (; i < end && (cur = bytes.get(i) - '0') >= 0 && cur <= 9; i++) {
+                anyExponentDigit = true;
+                if (explicitExponent < 100000)
+                    explicitExponent = explicitExponent * 10 + cur;
+            }
+            if (!anyExponentDigit)
+                anyDigit = false;
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (!anyDigit || i != end) {
+            // not a plain decimal number (NaN, Infinity, hexadecimal...), or not a number at all
+            return Double.parseDouble(toString());
+        }
+        return DoubleConversion.toDouble(negative, significand, exponent, truncated, this);
+    }
+
+    /**
+     * Tells whether the slice has the same characters as a given {@code CharSequence}.
+     */
+    public boolean contentEquals(CharSequence cs) {
+        if (cs.length() != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (charAt(i) != cs.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Two slices are equal if they have the same content.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ByteSlice))
+            return false;
+        ByteSlice other = (ByteSlice) o;
+        if (other.length != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(offset + i) != other.bytes.get(other.offset + i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The hash of the content of the slice, the same value that {@code toString().hashCode()} would give.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            h = 31 * h + (bytes.get(i) & 0xff);
+        }
+        return h;
+    }
+
+    /**
+     * Compares the content of two slices lexicographically, like {@code String#compareTo(String)} does.
+     */
+    @Override
+    public int compareTo(ByteSlice other) {
+        final int len = Math.min(length, other.length);
+        for (int i = 0; i < len; i++) {
+            int diff = (bytes.get(offset + i) & 0xff) - (other.bytes.get(other.offset + i) & 0xff);
+            if (diff != 0)
+                return diff;
+        }
+        return length - other.length;
+    }
+
+    /**
+     * Creates a new {@code String} with the content of the slice.
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+}
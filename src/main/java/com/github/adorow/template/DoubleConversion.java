@@ -0,0 +1,142 @@
+package com.github.adorow.template;
+
+import java.math.BigInteger;
+
+/**
+ * Converts decimal numbers, already split into their digits and exponent, into correctly rounded {@code double}s.<br/>
+ * Exact cases are solved with a single floating point operation (Clinger's fast path); the others with the Eisel-Lemire algorithm,
+ * which multiplies the digits by a 128 bits approximation of the power of 10.
+ * In the rare cases where that is not precise enough to decide the rounding, the conversion is left to {@code Double.parseDouble(String)}.
+ *
+ * @link https://arxiv.org/abs/2101.11408
+ */
+final class DoubleConversion {
+
+    private static final int SMALLEST_POWER_OF_10 = -342;
+    private static final int LARGEST_POWER_OF_10 = 308;
+
+    // the powers of 10 that are exactly representable as doubles
+    private static final double[] EXACT_POWERS_OF_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // the 128 most significant bits of 5^q, for each power q from SMALLEST_POWER_OF_10 to LARGEST_POWER_OF_10, split in two longs
+    private static final long[] MANTISSA_HIGH = new long[LARGEST_POWER_OF_10 - SMALLEST_POWER_OF_10 + 1];
+    private static final long[] MANTISSA_LOW = new long[LARGEST_POWER_OF_10 - SMALLEST_POWER_OF_10 + 1];
+
+    static {
+        final BigInteger five = BigInteger.valueOf(5);
+        final BigInteger twoTo128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = SMALLEST_POWER_OF_10; q <= LARGEST_POWER_OF_10; q++) {
+            BigInteger mantissa;
+            if (q < 0) {
+                BigInteger power5 = five.pow(-q);
+                int z = power5.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                mantissa = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+            } else {
+                mantissa = five.pow(q);
+            }
+            // normalizes the mantissa to exactly 128 bits
+            int bits = mantissa.bitLength();
+            mantissa = bits > 128 ? mantissa.shiftRight(bits - 128) : mantissa.shiftLeft(128 - bits);
+            if (mantissa.compareTo(twoTo128) >= 0) {
+                mantissa = mantissa.shiftRight(1);
+            }
+            MANTISSA_HIGH[q - SMALLEST_POWER_OF_10] = mantissa.shiftRight(64).longValue();
+            MANTISSA_LOW[q - SMALLEST_POWER_OF_10] = mantissa.longValue();
+        }
+    }
+
+    private DoubleConversion() {}
+
+    /**
+     * Converts a decimal number into a {@code double}.
+     *
+     * @param negative    whether the number is negative.
+     * @param significand the (unsigned) significant digits of the number, at most 19 of them.
+     * @param exponent    the power of 10 the digits are multiplied by.
+     * @param truncated   whether there were more (non zero) digits after the ones in the significand.
+     * @param text        the number as text, only used if the conversion needs to be left to the JDK.
+     * @return the closest {@code double} to the number.
+     */
+    static double toDouble(boolean negative, long significand, int exponent, boolean truncated, CharSequence text) {
+        if (significand == 0)
+            return negative ? -0.0 : 0.0;
+        double value;
+        if (!truncated) {
+            if (exponent >= -22 && exponent <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+                value = significand;
+                value = exponent < 0 ? value / EXACT_POWERS_OF_10[-exponent] : value * EXACT_POWERS_OF_10[exponent];
+                return negative ? -value : value;
+            }
+            value = eiselLemire(significand, exponent);
+        } else {
+            // the number is between these two significands, and if both round the same way, so does the number
+            value = eiselLemire(significand, exponent);
+            if (value != eiselLemire(significand + 1, exponent))
+                value = Double.NaN;
+        }
+        if (Double.isNaN(value))
+            return Double.parseDouble(text.toString());
+        return negative ? -value : value;
+    }
+
+    // the closest double to significand * 10^exponent, or NaN if it can not be decided
+    private static double eiselLemire(long significand, int exponent) {
+        if (exponent < SMALLEST_POWER_OF_10 || exponent > LARGEST_POWER_OF_10)
+            return Double.NaN;
+        final int index = exponent - SMALLEST_POWER_OF_10;
+        // floor(exponent * log2(10)), plus the bias of doubles and the 64 bits dropped from the product
+        final long binaryExponent = (((152170L + 65536L) * exponent) >> 16) + 1024 + 63;
+
+        int lz = Long.numberOfLeadingZeros(significand);
+        final long shifted = significand << lz;
+        long upper = unsignedMultiplyHigh(shifted, MANTISSA_HIGH[index]);
+        long lower = shifted * MANTISSA_HIGH[index];
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + shifted, lower) < 0) {
+            // the 64 bits approximation is not enough, so the next 64 bits of the power are used too
+            final long productLow = shifted * MANTISSA_LOW[index];
+            final long productMiddle = lower + unsignedMultiplyHigh(shifted, MANTISSA_LOW[index]);
+            if (Long.compareUnsigned(productMiddle, lower) < 0) {
+                upper++;
+            }
+            if (productMiddle + 1 == 0 && (upper & 0x1FF) == 0x1FF && Long.compareUnsigned(productLow + shifted, productLow) < 0)
+                return Double.NaN;
+            lower = productMiddle;
+        }
+
+        final long upperBit = upper >>> 63;
+        long mantissa = upper >>> (upperBit + 9);
+        lz += (int) (1 ^ upperBit);
+        if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            // exactly halfway between two doubles
+            return Double.NaN;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (1L << 53)) {
+            mantissa = 1L << 52;
+            lz--;
+        }
+        mantissa &= ~(1L << 52);
+        final long realExponent = binaryExponent - lz;
+        if (realExponent < 1 || realExponent > 2046) {
+            // subnormal numbers and infinity
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(mantissa | realExponent << 52);
+    }
+
+    // the 64 most significant bits of the 128 bits product of two unsigned longs
+    private static long unsignedMultiplyHigh(long x, long y) {
+        final long x0 = x & 0xFFFFFFFFL;
+        final long x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL;
+        final long y1 = y >>> 32;
+        final long middle = x1 * y0 + ((x0 * y0) >>> 32) + ((x0 * y1) & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + ((x0 * y1) >>> 32);
+    }
+
+}
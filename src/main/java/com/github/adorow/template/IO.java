@@ -1,6 +1,14 @@
 package com.github.adorow.template;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 /**
  * I/O class with utility methods for reading and writing data.<br/>
@@ -8,29 +16,143 @@ import java.io.*;
  */
 public class IO {
 
+    // the default sizes of the buffers, larger buffers (64KB to 1MB) are usually faster for large inputs and outputs
     private static final int IN_BUFFER_LENGTH = 8192;
     private static final int OUT_BUFFER_LENGTH = 8192;
+    /**
+     * The smallest size allowed for the input and output buffers, which must hold at least a whole number being written out.
+     */
+    public static final int MIN_BUFFER_LENGTH = 64;
+
+    // the largest region of a file mapped at once, so positions in the mapping still fit in an int
+    private static final int MAPPED_SEGMENT_LENGTH = 1 << 30;
 
     private static final int EOF = -1;
 
+    // set to true to collect IOStats, and print them on every flush. When false, the counting is compiled out.
+    private static final boolean STATS = false;
+
+    private static final long[] LONG_POWERS_OF_10 = new long[19];
+
+    // "00" to "99", the two digits of every number below 100, used to write numbers two digits at a time
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    // the largest amount of bytes a number takes in the output, with its sign
+    private static final int MAX_NUMBER_LENGTH = 20;
+
+    static {
+        LONG_POWERS_OF_10[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_10.length; i++) {
+            LONG_POWERS_OF_10[i] = LONG_POWERS_OF_10[i - 1] * 10;
+        }
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i << 1] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[(i << 1) + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    // where the input comes from, decides how the input buffer is refilled
+    private static final int INPUT_STREAM = 0;
+    private static final int INPUT_MAPPED_FILE = 1;
+    private static final int INPUT_IN_MEMORY = 2;
+    private static final int INPUT_READ_AHEAD = 3;
+    private static final int INPUT_CHANNEL = 4;
+
+    // the largest array most JVMs can allocate, which limits the input held by #useSlurpedStdIn()
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int inputMode = INPUT_STREAM;
     private InputStream in;
+    private ReadableByteChannel inChannel;
+    private FileChannel mappedFile;
+    private long mappedFilePosition;
+    private ReadAheadInput readAhead;
     private PrintStream out;
+    private WritableByteChannel outChannel;
 
-    private final byte[] input_buffer = new byte[IN_BUFFER_LENGTH];
+    // the buffer where streams and channels are read into, stream_buffer is null when it is a direct buffer
+    private final byte[] stream_buffer;
+    private final ByteBuffer stream_window;
+    // the window of input currently being read, either stream_window or a buffer of another input mode
+    private ByteBuffer input_buffer;
     private int pos = 0;
     private int lastReadLength = 0;
 
-    private final byte[] output_buffer = new byte[OUT_BUFFER_LENGTH];
+    private final ByteSlice token = new ByteSlice();
+    private final ByteSlice line = new ByteSlice();
+    // holds the tokens and lines that cross the end of the input buffer
+    private byte[] token_buffer = new byte[64];
+    private ByteBuffer token_window = ByteBuffer.wrap(token_buffer);
+
+    private byte[] output_buffer;
+    private ByteBuffer output_window;
     private int posOut = 0;
+    private WriteBehindOutput writeBehind;
+
+    private final IOStats stats = STATS ? new IOStats() : null;
+    private final DigitRun digitRun = new DigitRun();
 
     /**
      * Creates a new instance of IO that uses STDIN and STDOUT.
      */
     public IO() {
+        this(IN_BUFFER_LENGTH, OUT_BUFFER_LENGTH, false);
+    }
+
+    /**
+     * Creates a new instance of IO that uses STDIN and STDOUT, with buffers of the given sizes.<br/>
+     * Only the input buffer can be direct, the output buffer is always a {@code byte[]}, as numbers are formatted straight into it.
+     *
+     * @param inBufferLength    the size of the input buffer, at least #MIN_BUFFER_LENGTH.
+     * @param outBufferLength   the size of the output buffer, at least #MIN_BUFFER_LENGTH.
+     * @param directInputBuffer whether the input buffer is a direct {@code ByteBuffer}, which saves a copy when reading from channels.
+     *                          Input is then always read through channels.
+     * @throws IllegalArgumentException if a buffer is smaller than #MIN_BUFFER_LENGTH.
+     */
+    public IO(int inBufferLength, int outBufferLength, boolean directInputBuffer) {
+        if (inBufferLength < MIN_BUFFER_LENGTH || outBufferLength < MIN_BUFFER_LENGTH)
+            throw new IllegalArgumentException("buffers must have at least " + MIN_BUFFER_LENGTH + " bytes: " + inBufferLength + ", " + outBufferLength);
+        if (directInputBuffer) {
+            stream_buffer = null;
+            stream_window = ByteBuffer.allocateDirect(inBufferLength).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            stream_buffer = new byte[inBufferLength];
+            stream_window = wrapInput(stream_buffer);
+        }
+        input_buffer = stream_window;
+        output_buffer = new byte[outBufferLength];
+        output_window = ByteBuffer.wrap(output_buffer);
         useStdIn();
         useStdOut();
     }
 
+    /**
+     * Creates a new instance of IO that uses the given channels, with buffers of the given sizes.<br/>
+     * For STDIN and STDOUT, the channels can be taken from {@code new FileInputStream(FileDescriptor.in).getChannel()} and {@code new FileOutputStream(FileDescriptor.out).getChannel()}.
+     * Only the input buffer can be direct, the output buffer is always a {@code byte[]}.
+     *
+     * @param in                the channel to be used as input.
+     * @param out               the channel to be used as output.
+     * @param inBufferLength    the size of the input buffer, at least #MIN_BUFFER_LENGTH.
+     * @param outBufferLength   the size of the output buffer, at least #MIN_BUFFER_LENGTH.
+     * @param directInputBuffer whether the input buffer is a direct {@code ByteBuffer}, which saves a copy when reading from channels.
+     * @throws IllegalArgumentException if a buffer is smaller than #MIN_BUFFER_LENGTH.
+     */
+    public IO(ReadableByteChannel in, WritableByteChannel out, int inBufferLength, int outBufferLength, boolean directInputBuffer) {
+        this(inBufferLength, outBufferLength, directInputBuffer);
+        useChannelIn(in);
+        useChannelOut(out);
+    }
+
+    /**
+     * The counters of the work done by this instance, only collected when {@code IO.STATS} is {@code true}.
+     *
+     * @return the counters, or {@code null} if they are not being collected.
+     */
+    public IOStats getStats() {
+        return stats;
+    }
+
     // INPUT CHECKS
 
     // is the character minus (-)
@@ -78,6 +200,79 @@ public class IO {
         return isAlpha(cur) || isNum(cur);
     }
 
+    // can a number start with this character
+    private static boolean isNumberStart(int cur) {
+        return isNum(cur) || isMinus(cur) || isPlus(cur);
+    }
+
+    // the amount of digits at the beginning of a little-endian chunk of 8 bytes of input, from 0 to 8 (SWAR)
+    static int leadingDigits(long chunk) {
+        long nonDigits = ((chunk & 0xF0F0F0F0F0F0F0F0L) ^ 0x3030303030303030L)
+                | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) ^ 0x3030303030303030L);
+        return Long.numberOfTrailingZeros(nonDigits) >>> 3;
+    }
+
+    // converts 8 digits of a little-endian chunk of input into their value, combining pairs of digits, then pairs of pairs, and so on (SWAR).
+    // Shorter runs of digits can be converted by shifting them to the end of the chunk first, as zeroed bytes count as leading zeros.
+    static int parseEightDigits(long chunk) {
+        chunk = (chunk & 0x0F0F0F0F0F0F0F0FL) * 2561 >>> 8;
+        chunk = (chunk & 0x00FF00FF00FF00FFL) * 6553601 >>> 16;
+        return (int) ((chunk & 0x0000FFFF0000FFFFL) * 42949672960001L >>> 32);
+    }
+
+    /**
+     * Parses the digits of a number straight from a buffer, 8 at a time while 8 bytes can be read at once, and one by one close to its end.<br/>
+     * Shared by IO#readInts(int[], int, int), IO#readLongs(long[], int, int) and ParallelNumberLoader, which keep one instance each.
+     * The value is always accumulated in a {@code long}: cast to an {@code int}, it wraps exactly like an {@code int} accumulator would.
+     */
+    static final class DigitRun {
+
+        // the value of the digits parsed
+        long value;
+        // the position after the byte that ended the digits, or the limit if the digits reached it
+        int end;
+
+        /**
+         * Parses the digits starting at a position of the buffer.
+         *
+         * @param buf   the buffer, in little-endian order.
+         * @param p     the position of the first digit.
+         * @param limit the position after the last byte of the buffer that can be read.
+         * @return {@code true} if the digits ended before the limit, {@code false} if they may continue after it.
+         */
+        boolean parse(ByteBuffer buf, int p, int limit) {
+            long v = 0;
+            while (limit - p >= 8) {
+                final long chunk = buf.getLong(p);
+                final int digits = leadingDigits(chunk);
+                if (digits == 8) {
+                    v = v * 100000000 + parseEightDigits(chunk);
+                    p += 8;
+                    continue;
+                }
+                if (digits > 0) {
+                    v = v * LONG_POWERS_OF_10[digits] + parseEightDigits(chunk << (64 - (digits << 3)));
+                }
+                value = v;
+                end = p + digits + 1;
+                return true;
+            }
+            int cur;
+            while (p < limit && isNum(cur = buf.get(p))) {
+                v = v * 10 + (cur - '0');
+                p++;
+            }
+            value = v;
+            if (p < limit) {
+                end = p + 1;
+                return true;
+            }
+            end = p;
+            return false;
+        }
+
+    }
+
     /**
      * Returns whether the input is currently at the end of the line.
      */
@@ -129,9 +324,70 @@ public class IO {
      * Uses STDIN for input from this point on.
      */
     public void useStdIn() {
+        if (stream_buffer == null) {
+            useChannelIn(new FileInputStream(FileDescriptor.in).getChannel());
+            return;
+        }
+        resetInput(INPUT_STREAM);
         in = System.in;
     }
 
+    /**
+     * Takes a channel and uses it as input from this point on.
+     * Non-blocking channels are polled until they have data, yielding and then sleeping briefly between polls.
+     *
+     * @param channel the channel to be used as input.
+     */
+    public void useChannelIn(ReadableByteChannel channel) {
+        resetInput(INPUT_CHANNEL);
+        inChannel = channel;
+    }
+
+    /**
+     * Reads the whole of STDIN into memory at once, and uses it as input from this point on.<br/>
+     * Every read is then served from memory, which is faster than #useStdIn() when the input is piped in small chunks by a slow writer.
+     * The input must fit in a single array, so it can not be larger than about 2GB.
+     *
+     * @throws IOException if STDIN could not be read, or is too large to be held in an array.
+     */
+    public void useSlurpedStdIn() throws IOException {
+        resetInput(INPUT_IN_MEMORY);
+        byte[] bytes = new byte[Math.max(System.in.available() + 1, stream_window.capacity())];
+        int length = 0;
+        int read;
+        while ((read = System.in.read(bytes, length, bytes.length - length)) >= 0) {
+            length += read;
+            if (length == bytes.length) {
+                if (length == MAX_ARRAY_LENGTH) {
+                    if (System.in.read() < 0)
+                        break;
+                    throw new IOException("STDIN is larger than " + MAX_ARRAY_LENGTH + " bytes, which can not be held in an array");
+                }
+                bytes = Arrays.copyOf(bytes, (int) Math.min((long) length << 1, MAX_ARRAY_LENGTH));
+            }
+        }
+        input_buffer = wrapInput(bytes);
+        lastReadLength = length;
+        if (STATS) {
+            stats.refills++;
+            stats.bytesRead += length;
+        }
+    }
+
+    /**
+     * Takes a stream and uses it as input from this point on, reading it ahead in a background thread.<br/>
+     * While the input is parsed, the next buffers are already being filled, which pays off for large inputs coming from slow streams.
+     *
+     * @param source  the stream to be used as input, like {@code System.in} or a {@code FileInputStream}.
+     * @param buffers the amount of buffers to read ahead, at least 2.
+     * @throws IllegalArgumentException if there are less than 2 buffers, in which case the input in use does not change.
+     */
+    public void useReadAheadIn(InputStream source, int buffers) {
+        ReadAheadInput next = new ReadAheadInput(source, buffers, stream_window.capacity());
+        resetInput(INPUT_READ_AHEAD);
+        readAhead = next;
+    }
+
     /**
      * Takes a file and uses it as input from this point on.
      *
@@ -139,14 +395,94 @@ public class IO {
      * @throws FileNotFoundException if the given file does not exist.
      */
     public void useFileIn(String filename) throws FileNotFoundException {
+        if (stream_buffer == null) {
+            useChannelIn(new FileInputStream(filename).getChannel());
+            return;
+        }
+        resetInput(INPUT_STREAM);
         in = new FileInputStream(filename);
     }
 
+    /**
+     * Maps a file into memory and uses it as input from this point on.<br/>
+     * Every read is served straight from the mapping, with no copies into an intermediate buffer, which makes this the fastest way to read large input files.
+     * Files larger than 1GB are mapped one region at a time.
+     *
+     * @param filename the file to be used as input.
+     * @throws IOException if the given file does not exist or could not be mapped.
+     */
+    public void useMappedFileIn(String filename) throws IOException {
+        resetInput(INPUT_MAPPED_FILE);
+        mappedFile = new RandomAccessFile(filename, "r").getChannel();
+    }
+
+    // discards any buffered input, and sets up the input buffer for the given mode
+    private void resetInput(int mode) {
+        if (mappedFile != null) {
+            try {
+                mappedFile.close();
+            } catch (IOException ignored) {
+            }
+            mappedFile = null;
+        }
+        if (readAhead != null) {
+            readAhead.close();
+            readAhead = null;
+        }
+        inChannel = null;
+        inputMode = mode;
+        mappedFilePosition = 0;
+        input_buffer = stream_window;
+        pos = lastReadLength = 0;
+    }
+
+    private static ByteBuffer wrapInput(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
     /**
      * Uses STDOUT for output from this point on.
      */
     public void useStdOut() {
+        stopWriteBehind();
         out = System.out;
+        outChannel = null;
+    }
+
+    /**
+     * Takes a channel and uses it as output from this point on.
+     *
+     * @param channel the channel to be used as output.
+     */
+    public void useChannelOut(WritableByteChannel channel) {
+        stopWriteBehind();
+        outChannel = channel;
+    }
+
+    /**
+     * Writes the output in a background thread from this point on, to the output currently in use.<br/>
+     * Whenever the output buffer is full, it is handed to the background thread and formatting continues into another buffer,
+     * instead of waiting for the buffer to be written. #flush() waits until everything has been written out.
+     *
+     * @param buffers the amount of buffers to use, at least 2.
+     * @throws IllegalArgumentException if there are less than 2 buffers, in which case the output in use does not change.
+     */
+    public void useWriteBehindOut(int buffers) {
+        WriteBehindOutput next = new WriteBehindOutput(outChannel == null ? out : null, outChannel, buffers, output_buffer.length);
+        stopWriteBehind();
+        writeBehind = next;
+        byte[] first = writeBehind.first();
+        System.arraycopy(output_buffer, 0, first, 0, posOut);
+        output_buffer = first;
+    }
+
+    // writes out everything handed to the background thread and stops it, going back to writing in the current thread
+    private void stopWriteBehind() {
+        if (writeBehind != null) {
+            writeBehind.close();
+            writeBehind = null;
+            output_window = ByteBuffer.wrap(output_buffer);
+        }
     }
 
     /**
@@ -156,7 +492,9 @@ public class IO {
      * @throws FileNotFoundException if the given file does not exist.
      */
     public void useFileOut(String filename) throws FileNotFoundException {
+        stopWriteBehind();
         out = new PrintStream(new FileOutputStream(filename));
+        outChannel = null;
     }
 
     // INPUT MANIPULATION
@@ -210,15 +548,65 @@ public class IO {
         }
     }
 
+    // moves the input pointer to the beginning of the next number, returning false if the input ended before it
+    private boolean moveToNextNumber() throws IOException {
+        int cur;
+        while (!isNumberStart(cur = read())) {
+            if (cur == EOF)
+                return false;
+        }
+        pos--;
+        return true;
+    }
+
     // reads the next byte in the input
     private int read() throws IOException {
         if (pos >= lastReadLength) {
-            lastReadLength = in.read(input_buffer);
+            if (STATS) {
+                final long startAt = System.nanoTime();
+                lastReadLength = fillInputBuffer();
+                stats.readNanos += System.nanoTime() - startAt;
+                stats.refills++;
+                stats.bytesRead += Math.max(lastReadLength, 0);
+            } else {
+                lastReadLength = fillInputBuffer();
+            }
             if (lastReadLength < 0)
                 return EOF;
             pos = 0;
         }
-        return input_buffer[pos++] & 0xff;
+        return input_buffer.get(pos++) & 0xff;
+    }
+
+    // loads the next window of input into input_buffer, returning its length, or EOF if there is no more input
+    private int fillInputBuffer() throws IOException {
+        switch (inputMode) {
+            case INPUT_MAPPED_FILE:
+                long remaining = mappedFile.size() - mappedFilePosition;
+                if (remaining <= 0)
+                    return EOF;
+                int length = (int) Math.min(remaining, MAPPED_SEGMENT_LENGTH);
+                input_buffer = mappedFile.map(FileChannel.MapMode.READ_ONLY, mappedFilePosition, length).order(ByteOrder.LITTLE_ENDIAN);
+                mappedFilePosition += length;
+                return length;
+            case INPUT_READ_AHEAD:
+                int filled = readAhead.next();
+                input_buffer = readAhead.window();
+                return filled;
+            case INPUT_IN_MEMORY:
+                // all the input is already in the buffer
+                return EOF;
+            case INPUT_CHANNEL:
+                stream_window.clear();
+                int read;
+                // non-blocking channels may have nothing to read yet, so wait for them without burning a core
+                for (int idle = 0; (read = inChannel.read(stream_window)) == 0; ) {
+                    idle = ReadAheadInput.backOff(idle);
+                }
+                return read;
+            default:
+                return in.read(stream_buffer);
+        }
     }
 
     /**
@@ -241,6 +629,12 @@ public class IO {
      * Reads the next number in the input as an {@code int}.
      */
     public int readInt() throws IOException {
+        if (STATS) stats.ints++;
+        return parseInt();
+    }
+
+    // reads the next number in the input as an int
+    private int parseInt() throws IOException {
         int cur;
         while (!isNum(cur = read()) && !isMinus(cur) && !isPlus(cur))
             if (cur == EOF)
@@ -266,6 +660,12 @@ public class IO {
      * Reads the next number in the input as an {@code long}.
      */
     public long readLong() throws IOException {
+        if (STATS) stats.longs++;
+        return parseLong();
+    }
+
+    // reads the next number in the input as a long
+    private long parseLong() throws IOException {
         int cur;
         while (!isNum(cur = read()) && !isMinus(cur) && !isPlus(cur))
             if (cur == EOF)
@@ -288,47 +688,146 @@ public class IO {
     }
 
     /**
-     * Reads a decimal number, as {@code double}.
+     * Reads many numbers at once, as {@code int}s.<br/>
+     * Numbers are parsed straight from the input buffer, checking for the end of it only once per number instead of once per digit,
+     * and converting runs of 8 digits at a time. It is much faster than calling #readInt() in a loop.
+     *
+     * @param dst    where to store the numbers read.
+     * @param offset the position in {@code dst} of the first number read.
+     * @param n      the amount of numbers to read.
+     * @return the amount of numbers read, which is only smaller than {@code n} if the input ended.
      */
-    public double readDouble() throws IOException {
-        int cur;
-        cur = read();
-        while (cur < 33) {
-            cur = read();
-            if (cur < 0) return EOF;
-        }
-        boolean negative = false;
-        if (isMinus('-')) {
-            negative = true;
-            cur = read();
-        }
-        long v = 0;
-        while (cur > 32 && cur != '.') {
-            v *= 10;
-            v += ((cur - '0') & 0xFF);
-            cur = read();
-        }
-        long after = 0;
-        if (cur == '.') {
-            cur = read();
-            while (cur > 32) {
-                after *= 10;
-                after += ((cur - '0') & 0xFF);
-                cur = read();
+    public int readInts(int[] dst, int offset, int n) throws IOException {
+        final int end = offset + n;
+        ByteBuffer buf = input_buffer;
+        int p = pos;
+        int limit = lastReadLength;
+        for (int i = offset; i < end; i++) {
+            while (p < limit && !isNumberStart(buf.get(p))) {
+                p++;
+            }
+            if (limit - p < 3) {
+                // the number may cross the end of the buffer
+                pos = p;
+                if (!moveToNextNumber()) {
+                    if (STATS) stats.ints += i - offset;
+                    return i - offset;
+                }
+                dst[i] = parseInt();
+                buf = input_buffer;
+                p = pos;
+                limit = lastReadLength;
+                continue;
+            }
+            int cur = buf.get(p);
+            boolean minus = false;
+            if (isMinus(cur)) {
+                minus = true;
+                cur = buf.get(++p);
             }
+            if (isPlus(cur)) {
+                p++;
+            }
+            final boolean ended = digitRun.parse(buf, p, limit);
+            int v = (int) digitRun.value;
+            p = digitRun.end;
+            if (!ended) {
+                // the number continues in the next buffer
+                pos = p;
+                while (isNum(cur = read())) {
+                    v *= 10;
+                    v += (cur - '0');
+                }
+                buf = input_buffer;
+                p = pos;
+                limit = lastReadLength;
+            }
+            dst[i] = minus ? -v : v;
         }
+        pos = p;
+        if (STATS) stats.ints += n;
+        return n;
+    }
 
-        double ret = v;
-        if (after > 0) {
-            ret += (1.0 / after);
+    /**
+     * Reads many numbers at once, as {@code long}s.<br/>
+     * Numbers are parsed straight from the input buffer, checking for the end of it only once per number instead of once per digit,
+     * and converting runs of 8 digits at a time. It is much faster than calling #readLong() in a loop.
+     *
+     * @param dst    where to store the numbers read.
+     * @param offset the position in {@code dst} of the first number read.
+     * @param n      the amount of numbers to read.
+     * @return the amount of numbers read, which is only smaller than {@code n} if the input ended.
+     */
+    public int readLongs(long[] dst, int offset, int n) throws IOException {
+        final int end = offset + n;
+        ByteBuffer buf = input_buffer;
+        int p = pos;
+        int limit = lastReadLength;
+        for (int i = offset; i < end; i++) {
+            while (p < limit && !isNumberStart(buf.get(p))) {
+                p++;
+            }
+            if (limit - p < 3) {
+                // the number may cross the end of the buffer
+                pos = p;
+                if (!moveToNextNumber()) {
+                    if (STATS) stats.longs += i - offset;
+                    return i - offset;
+                }
+                dst[i] = parseLong();
+                buf = input_buffer;
+                p = pos;
+                limit = lastReadLength;
+                continue;
+            }
+            int cur = buf.get(p);
+            boolean minus = false;
+            if (isMinus(cur)) {
+                minus = true;
+                cur = buf.get(++p);
+            }
+            if (isPlus(cur)) {
+                p++;
+            }
+            final boolean ended = digitRun.parse(buf, p, limit);
+            long v = digitRun.value;
+            p = digitRun.end;
+            if (!ended) {
+                // the number continues in the next buffer
+                pos = p;
+                while (isNum(cur = read())) {
+                    v *= 10;
+                    v += (cur - '0');
+                }
+                buf = input_buffer;
+                p = pos;
+                limit = lastReadLength;
+            }
+            dst[i] = minus ? -v : v;
         }
-        return negative ? -ret : ret;
+        pos = p;
+        if (STATS) stats.longs += n;
+        return n;
+    }
+
+    /**
+     * Reads a decimal number, as {@code double}.<br/>
+     * The number is correctly rounded, like {@code Double.parseDouble(String)} would do, and it can have an exponent (like {@code 1.5e-7}).
+     */
+    public double readDouble() throws IOException {
+        if (STATS) stats.doubles++;
+        ByteSlice word = nextWord();
+        if (word.isEmpty())
+            return EOF;
+        return word.toDouble();
     }
 
     /**
      * Reads a String from the input, of a given maximum length.
      */
     public String readText(int length) throws IOException {
+        if (STATS) stats.texts++;
         int len = 0;
         int cur;
         while ((cur = read()) < 33) {
@@ -345,10 +844,142 @@ public class IO {
     }
 
 
+    /**
+     * Reads the next word from the input, without copying it.<br/>
+     * The returned slice is reused by every call, and its content is only valid until the next read from the input.
+     *
+     * @return the word read, or an empty slice if the input ended.
+     */
+    public ByteSlice readToken() throws IOException {
+        if (STATS) stats.tokens++;
+        return nextWord();
+    }
+
+    // reads the next word from the input into the token slice
+    private ByteSlice nextWord() throws IOException {
+        int cur;
+        while ((cur = read()) < 33) {
+            if (cur == EOF) {
+                token.set(input_buffer, 0, 0);
+                return token;
+            }
+        }
+        final ByteBuffer buf = input_buffer;
+        final int start = pos - 1;
+        int p = pos;
+        while (p < lastReadLength && (buf.get(p) & 0xff) > 32) {
+            p++;
+        }
+        if (p < lastReadLength) {
+            token.set(buf, start, p - start);
+            pos = p + 1;
+            return token;
+        }
+
+        // the word crosses the end of the buffer, so it is copied out of it
+        int len = 0;
+        for (int i = start; i < p; i++) {
+            len = appendToToken(len, buf.get(i));
+        }
+        pos = p;
+        while ((cur = read()) > 32) {
+            len = appendToToken(len, (byte) cur);
+        }
+        token.set(token_window, 0, len);
+        return token;
+    }
+
+    /**
+     * Reads the rest of the current line from the input, without copying it.<br/>
+     * The line does not include its end ({@code \n} or {@code \r\n}). Its words can be iterated with ByteSlice#hasNextToken() and ByteSlice#nextToken().
+     * The returned slice is reused by every call, and its content is only valid until the next read from the input.
+     *
+     * @return the line read, or {@code null} if the input ended.
+     */
+    public ByteSlice readLine() throws IOException {
+        if (STATS) stats.lines++;
+        int cur = read();
+        if (cur == EOF)
+            return null;
+        final ByteBuffer buf = input_buffer;
+        final int start = pos - 1;
+        int p = start;
+        while (p < lastReadLength && buf.get(p) != '\n') {
+            p++;
+        }
+        if (p < lastReadLength) {
+            int end = p;
+            if (end > start && buf.get(end - 1) == '\r')
+                end--;
+            line.set(buf, start, end - start);
+            pos = p + 1;
+            return line;
+        }
+
+        // the line crosses the end of the buffer, so it is copied out of it
+        int len = 0;
+        for (int i = start; i < p; i++) {
+            len = appendToToken(len, buf.get(i));
+        }
+        pos = p;
+        while ((cur = read()) != EOF && cur != '\n') {
+            len = appendToToken(len, (byte) cur);
+        }
+        if (len > 0 && token_buffer[len - 1] == '\r')
+            len--;
+        line.set(token_window, 0, len);
+        return line;
+    }
+
+    /**
+     * Reads the rest of the current line from the input into a {@code byte[]}, without its end ({@code \n} or {@code \r\n}).
+     *
+     * @param dst where to store the line. If the line is longer than it, the rest of the line is skipped.
+     * @return the length of the line stored, or {@code -1} if the input ended.
+     */
+    public int readLine(byte[] dst) throws IOException {
+        ByteSlice l = readLine();
+        if (l == null)
+            return EOF;
+        final int len = Math.min(l.length(), dst.length);
+        for (int i = 0; i < len; i++) {
+            dst[i] = l.byteAt(i);
+        }
+        return len;
+    }
+
+    /**
+     * Reads the rest of the current line from the input into a {@code char[]}, without its end ({@code \n} or {@code \r\n}).
+     *
+     * @param dst where to store the line. If the line is longer than it, the rest of the line is skipped.
+     * @return the length of the line stored, or {@code -1} if the input ended.
+     */
+    public int readLine(char[] dst) throws IOException {
+        ByteSlice l = readLine();
+        if (l == null)
+            return EOF;
+        final int len = Math.min(l.length(), dst.length);
+        for (int i = 0; i < len; i++) {
+            dst[i] = l.charAt(i);
+        }
+        return len;
+    }
+
+    // adds a byte to the token_buffer, returning its new length
+    private int appendToToken(int len, byte b) {
+        if (len == token_buffer.length) {
+            token_buffer = Arrays.copyOf(token_buffer, len << 1);
+            token_window = ByteBuffer.wrap(token_buffer);
+        }
+        token_buffer[len] = b;
+        return len + 1;
+    }
+
     /**
      * Reads a text into a {@code char[]}, returning the length of the read text.
      */
     public int readText(char[] input_text) throws IOException {
+        if (STATS) stats.texts++;
         char c = (char) read();
         while (c < 33) {
             c = (char) read();
@@ -366,6 +997,7 @@ public class IO {
      * Reads into the input array exactly the amount of input given.
      */
     public void readText(char[] input_text, int len) throws IOException {
+        if (STATS) stats.texts++;
         char c = readChar();
         while ((c & 0xE0) == 0) {
             c = readChar();
@@ -382,7 +1014,7 @@ public class IO {
      * Writes a single byte into the output.
      */
     public void writeOut(byte b) {
-        if (posOut >= OUT_BUFFER_LENGTH) {
+        if (posOut >= output_buffer.length) {
             writeOutToStream();
         }
         output_buffer[posOut++] = b;
@@ -417,10 +1049,32 @@ public class IO {
      * @param length the amount of data to write out.
      */
     public void writeOut(byte[] bytes, int offset, int length) {
-        final int end = offset + length;
-        for (int i = offset; i < end; i++) {
-            writeOut(bytes[i]);
+        if (posOut + length > output_buffer.length) {
+            writeOutToStream();
+            if (length > output_buffer.length) {
+                if (writeBehind == null) {
+                    // too large for the buffer, so it goes straight to the output
+                    final long startAt = STATS ? System.nanoTime() : 0;
+                    writeToOutput(bytes, offset, length);
+                    if (STATS) {
+                        stats.writeNanos += System.nanoTime() - startAt;
+                        stats.flushes++;
+                        stats.bytesWritten += length;
+                    }
+                    return;
+                }
+                // the output must keep going through the background thread, one full buffer at a time
+                while (length > output_buffer.length) {
+                    System.arraycopy(bytes, offset, output_buffer, 0, output_buffer.length);
+                    offset += output_buffer.length;
+                    length -= output_buffer.length;
+                    posOut = output_buffer.length;
+                    writeOutToStream();
+                }
+            }
         }
+        System.arraycopy(bytes, offset, output_buffer, posOut, length);
+        posOut += length;
     }
 
     /**
@@ -438,9 +1092,20 @@ public class IO {
      * @param length the amount of data to write out.
      */
     public void writeOut(char[] chars, int offset, int length) {
+        byte[] buf = output_buffer;
         final int end = offset + length;
-        for (int i = offset; i < end; i++) {
-            writeOut(chars[i]);
+        int i = offset;
+        while (i < end) {
+            if (posOut == buf.length) {
+                writeOutToStream();
+                buf = output_buffer;
+            }
+            int p = posOut;
+            final int blockEnd = Math.min(end, i + (buf.length - p));
+            for (; i < blockEnd; i++) {
+                buf[p++] = (byte) chars[i];
+            }
+            posOut = p;
         }
     }
 
@@ -450,24 +1115,10 @@ public class IO {
      * @param value the number to be written.
      */
     public void writeOutNumber(int value) {
-        int len = 0;
-        char[] tmpcharr = new char[10];
-        int pos = tmpcharr.length;
-        if (value == 0) {
-            writeOut('0');
-            return;
-        }
-        boolean negative = value < 0;
-        if (negative)
-            value = -value;
-        while (value > 0) {
-            tmpcharr[--pos] = (char) ((value % 10) + '0');
-            len++;
-            value /= 10;
+        if (posOut + MAX_NUMBER_LENGTH > output_buffer.length) {
+            writeOutToStream();
         }
-        if (negative)
-            writeOut('-');
-        writeOut(tmpcharr, pos, len);
+        posOut = formatNumber(output_buffer, posOut, value);
     }
 
     /**
@@ -476,32 +1127,220 @@ public class IO {
      * @param value the number to be written.
      */
     public void writeOutNumber(long value) {
-        int len = 0;
-        char[] tmpcharr = new char[20];
-        int pos = tmpcharr.length;
-        if (value == 0) {
-            writeOut('0');
-            return;
+        if (posOut + MAX_NUMBER_LENGTH > output_buffer.length) {
+            writeOutToStream();
+        }
+        posOut = formatNumber(output_buffer, posOut, value);
+    }
+
+    /**
+     * Writes out many numbers in the output, with a separator between them (but not after the last one).
+     *
+     * @param xs        the numbers to be written.
+     * @param offset    the position of the first number to write out.
+     * @param length    the amount of numbers to write out.
+     * @param separator what to write between the numbers, like {@code ' '} or {@code '\n'}.
+     */
+    public void writeOutInts(int[] xs, int offset, int length, byte separator) {
+        byte[] buf = output_buffer;
+        final int end = offset + length;
+        int p = posOut;
+        for (int i = offset; i < end; i++) {
+            if (p + MAX_NUMBER_LENGTH + 1 > buf.length) {
+                posOut = p;
+                writeOutToStream();
+                buf = output_buffer;
+                p = 0;
+            }
+            if (i > offset) {
+                buf[p++] = separator;
+            }
+            p = formatNumber(buf, p, xs[i]);
+        }
+        posOut = p;
+    }
+
+    /**
+     * Writes out many numbers in the output, with a separator between them (but not after the last one).
+     *
+     * @param xs        the numbers to be written.
+     * @param offset    the position of the first number to write out.
+     * @param length    the amount of numbers to write out.
+     * @param separator what to write between the numbers, like {@code ' '} or {@code '\n'}.
+     */
+    public void writeOutLongs(long[] xs, int offset, int length, byte separator) {
+        byte[] buf = output_buffer;
+        final int end = offset + length;
+        int p = posOut;
+        for (int i = offset; i < end; i++) {
+            if (p + MAX_NUMBER_LENGTH + 1 > buf.length) {
+                posOut = p;
+                writeOutToStream();
+                buf = output_buffer;
+                p = 0;
+            }
+            if (i > offset) {
+                buf[p++] = separator;
+            }
+            p = formatNumber(buf, p, xs[i]);
+        }
+        posOut = p;
+    }
+
+    // writes a number into a buffer from the given position, returning the position after it
+    private static int formatNumber(byte[] buf, int p, int value) {
+        if (value < 0) {
+            buf[p++] = '-';
+            if (value == Integer.MIN_VALUE) {
+                // its absolute value does not fit in an int
+                p = formatNumber(buf, p, -(value / 10));
+                buf[p++] = '8';
+                return p;
+            }
+            value = -value;
         }
-        boolean negative = value < 0;
-        if (negative)
+        p += digitCount(value);
+        writeDigitsBackwards(buf, p, value);
+        return p;
+    }
+
+    // writes a number into a buffer from the given position, returning the position after it
+    private static int formatNumber(byte[] buf, int p, long value) {
+        if (value < 0) {
+            buf[p++] = '-';
+            if (value == Long.MIN_VALUE) {
+                // its absolute value does not fit in a long
+                p = formatNumber(buf, p, -(value / 10));
+                buf[p++] = '8';
+                return p;
+            }
             value = -value;
-        while (value > 0) {
-            tmpcharr[--pos] = (char) ((value % 10) + '0');
-            len++;
-            value /= 10;
         }
-        if (negative)
+        p += digitCount(value);
+        final int end = p;
+        while (value > Integer.MAX_VALUE) {
+            long q = value / 100;
+            int pair = (int) (value - q * 100) << 1;
+            value = q;
+            buf[--p] = DIGIT_PAIRS[pair + 1];
+            buf[--p] = DIGIT_PAIRS[pair];
+        }
+        writeDigitsBackwards(buf, p, (int) value);
+        return end;
+    }
+
+    // the amount of digits of a non negative number, estimated from its amount of bits (log10(2) ~ 1233 / 4096)
+    private static int digitCount(long value) {
+        int digits = ((64 - Long.numberOfLeadingZeros(value)) * 1233) >>> 12;
+        return value < LONG_POWERS_OF_10[digits] ? Math.max(digits, 1) : digits + 1;
+    }
+
+    // writes the digits of a non negative number into a buffer, two at a time, from its last digit at end - 1 backwards
+    private static void writeDigitsBackwards(byte[] buf, int end, int value) {
+        int p = end;
+        while (value >= 100) {
+            int q = value / 100;
+            int pair = (value - q * 100) << 1;
+            value = q;
+            buf[--p] = DIGIT_PAIRS[pair + 1];
+            buf[--p] = DIGIT_PAIRS[pair];
+        }
+        if (value >= 10) {
+            int pair = value << 1;
+            buf[--p] = DIGIT_PAIRS[pair + 1];
+            buf[--p] = DIGIT_PAIRS[pair];
+        } else {
+            buf[--p] = (byte) ('0' + value);
+        }
+    }
+
+    /**
+     * Writes out a decimal number in the output, with a fixed amount of decimal places, giving the same output as {@code String.format("%.nf", value)}.<br/>
+     * Like {@code String.format}, the number is rounded half up from its shortest decimal representation (the one of {@code Double.toString(double)}),
+     * not from its exact binary value, so 1.005 is written as 1.01, and negative numbers keep their sign even when rounded to 0 (-0.0 is written as -0.00).
+     * Numbers whose rounding can not be decided from a {@code long} approximation, or that do not fit in the output buffer, are written through a {@code BigDecimal}.
+     *
+     * @param value    the number to be written.
+     * @param decimals the amount of decimal places, not negative.
+     */
+    public void writeOutDouble(double value, int decimals) {
+        if (decimals < 0)
+            throw new IllegalArgumentException("decimals must not be negative: " + decimals);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeOutString(Double.toString(value));
+            return;
+        }
+        final double absolute = Math.abs(value);
+        if (decimals > 18 || absolute >= 9e18 || MAX_NUMBER_LENGTH + 1 + decimals > output_buffer.length) {
+            // too many digits for a long, or for the buffer
+            writeOutExactDouble(value, decimals);
+            return;
+        }
+        long integer = (long) absolute;
+        final long scale = LONG_POWERS_OF_10[decimals];
+        final double scaled = (absolute - integer) * scale;
+        long fraction = (long) scaled;
+        final double rest = scaled - fraction;
+        // the shortest decimal representation is within half an ulp of the value, and scaled has a rounding error of its own,
+        // so the rounding is only certain away from the middle
+        if (Math.abs(rest - 0.5) <= (Math.ulp(absolute) + 2.3e-16) * scale) {
+            writeOutExactDouble(value, decimals);
+            return;
+        }
+        if (rest > 0.5) {
+            fraction++;
+        }
+        if (fraction >= scale) {
+            integer++;
+            fraction -= scale;
+        }
+        if (posOut + MAX_NUMBER_LENGTH + 1 + decimals > output_buffer.length) {
+            writeOutToStream();
+        }
+        final byte[] buf = output_buffer;
+        int p = posOut;
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buf[p++] = '-';
+        }
+        p = formatNumber(buf, p, integer);
+        if (decimals > 0) {
+            buf[p++] = '.';
+            final int end = p + decimals;
+            for (int i = end - 1; i >= p; i--) {
+                buf[i] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            p = end;
+        }
+        posOut = p;
+    }
+
+    // writes out the shortest decimal representation of a double, rounded half up to the given decimal places, as String.format does
+    private void writeOutExactDouble(double value, int decimals) {
+        if (Double.doubleToRawLongBits(value) < 0) {
             writeOut('-');
-        writeOut(tmpcharr, pos, len);
+        }
+        writeOutString(new BigDecimal(Double.toString(Math.abs(value))).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
     }
 
     /**
      * Writes a {@code String} into the output.
      */
     public void writeOutString(String str) {
-        for (int i = 0; i < str.length(); i++) {
-            writeOut(str.charAt(i));
+        byte[] buf = output_buffer;
+        final int end = str.length();
+        int i = 0;
+        while (i < end) {
+            if (posOut == buf.length) {
+                writeOutToStream();
+                buf = output_buffer;
+            }
+            int p = posOut;
+            final int blockEnd = Math.min(end, i + (buf.length - p));
+            for (; i < blockEnd; i++) {
+                buf[p++] = (byte) str.charAt(i);
+            }
+            posOut = p;
         }
     }
 
@@ -526,15 +1365,49 @@ public class IO {
 
     // writes from the input_buffer to the stream. Should never be called directly.
     private void writeOutToStream() {
-        out.write(output_buffer, 0, posOut);
+        if (STATS) {
+            stats.flushes++;
+            stats.bytesWritten += posOut;
+        }
+        final long startAt = STATS ? System.nanoTime() : 0;
+        if (writeBehind != null) {
+            output_buffer = writeBehind.submit(posOut);
+        } else {
+            writeToOutput(output_buffer, 0, posOut);
+        }
+        if (STATS) stats.writeNanos += System.nanoTime() - startAt;
         posOut = 0;
     }
 
+    // writes bytes straight to the output stream or channel
+    private void writeToOutput(byte[] bytes, int offset, int length) {
+        if (outChannel != null) {
+            ByteBuffer window = bytes == output_buffer ? output_window : ByteBuffer.wrap(bytes);
+            window.clear();
+            window.position(offset);
+            window.limit(offset + length);
+            try {
+                while (window.hasRemaining()) {
+                    outChannel.write(window);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            out.write(bytes, offset, length);
+        }
+    }
+
     /**
      * Flushes all the remaining data from the buffer into the output. This method should be called always in the end of every problem.
      */
     public void flush() {
         writeOutToStream();
-        out.flush();
+        if (writeBehind != null) {
+            writeBehind.drain();
+        } else if (outChannel == null) {
+            out.flush();
+        }
+        if (STATS) System.err.println(stats);
     }
 }
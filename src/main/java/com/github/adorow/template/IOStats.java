@@ -0,0 +1,121 @@
+package com.github.adorow.template;
+
+/**
+ * Counters of the work done by an instance of IO, to tell whether a slow run is bound by I/O or by computation.<br/>
+ * They are only collected when {@code IO.STATS} is set to {@code true}; otherwise IO does not touch them at all.
+ */
+public final class IOStats {
+
+    long bytesRead;
+    long refills;
+    long readNanos;
+
+    long bytesWritten;
+    long flushes;
+    long writeNanos;
+
+    long ints;
+    long longs;
+    long doubles;
+    long texts;
+    long tokens;
+    long lines;
+
+    IOStats() {}
+
+    /**
+     * The amount of bytes loaded into the input buffer.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * The amount of times the input buffer was refilled.
+     */
+    public long getRefills() {
+        return refills;
+    }
+
+    /**
+     * The time spent waiting for the input buffer to be refilled, in nanoseconds.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * The amount of bytes written out of the output buffer.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * The amount of times the output buffer was written out.
+     */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * The time spent waiting for the output buffer to be written out, in nanoseconds.
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    /**
+     * The amount of {@code int}s read, one by one or in bulk.
+     */
+    public long getInts() {
+        return ints;
+    }
+
+    /**
+     * The amount of {@code long}s read, one by one or in bulk.
+     */
+    public long getLongs() {
+        return longs;
+    }
+
+    /**
+     * The amount of {@code double}s read.
+     */
+    public long getDoubles() {
+        return doubles;
+    }
+
+    /**
+     * The amount of texts read into {@code String}s or {@code char[]}s.
+     */
+    public long getTexts() {
+        return texts;
+    }
+
+    /**
+     * The amount of words read as slices, with IO#readToken().
+     */
+    public long getTokens() {
+        return tokens;
+    }
+
+    /**
+     * The amount of lines read.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * A compact, single line, report of all the counters.
+     */
+    @Override
+    public String toString() {
+        return String.format("IO: read %d bytes in %d refills (%d ms blocked), wrote %d bytes in %d flushes (%d ms blocked), "
+                        + "parsed %d ints, %d longs, %d doubles, %d texts, %d tokens, %d lines",
+                bytesRead, refills, readNanos / 1000000, bytesWritten, flushes, writeNanos / 1000000,
+                ints, longs, doubles, texts, tokens, lines);
+    }
+
+}
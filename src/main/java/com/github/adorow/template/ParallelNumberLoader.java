@@ -0,0 +1,207 @@
+package com.github.adorow.template;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Loads every number of a (very large) file at once, using all the available cores.<br/>
+ * The file is mapped into memory and split into chunks at the boundaries between numbers, the chunks are parsed concurrently, and their numbers are then put together in order.
+ * Numbers are parsed the same way IO#readInts(int[], int, int) and IO#readLongs(long[], int, int) parse them.
+ */
+public final class ParallelNumberLoader {
+
+    // the smallest chunk worth parsing in its own task
+    private static final int MIN_CHUNK_LENGTH = 1 << 20;
+    // the largest chunk, so that it can be mapped at once
+    private static final int MAX_CHUNK_LENGTH = 1 << 30;
+
+    private ParallelNumberLoader() {}
+
+    /**
+     * Reads all the numbers in a file, as {@code int}s.
+     *
+     * @param filename the file with the numbers.
+     * @return the numbers, in the order they appear in the file.
+     * @throws IOException if the file does not exist or could not be read.
+     */
+    public static int[] readInts(String filename) throws IOException {
+        ChunkParser[] chunks = parseChunks(filename, true);
+        int total = 0;
+        for (ChunkParser chunk : chunks) {
+            total += chunk.count;
+        }
+        int[] numbers = new int[total];
+        int offset = 0;
+        for (ChunkParser chunk : chunks) {
+            System.arraycopy(chunk.ints, 0, numbers, offset, chunk.count);
+            offset += chunk.count;
+        }
+        return numbers;
+    }
+
+    /**
+     * Reads all the numbers in a file, as {@code long}s.
+     *
+     * @param filename the file with the numbers.
+     * @return the numbers, in the order they appear in the file.
+     * @throws IOException if the file does not exist or could not be read.
+     */
+    public static long[] readLongs(String filename) throws IOException {
+        ChunkParser[] chunks = parseChunks(filename, false);
+        int total = 0;
+        for (ChunkParser chunk : chunks) {
+            total += chunk.count;
+        }
+        long[] numbers = new long[total];
+        int offset = 0;
+        for (ChunkParser chunk : chunks) {
+            System.arraycopy(chunk.longs, 0, numbers, offset, chunk.count);
+            offset += chunk.count;
+        }
+        return numbers;
+    }
+
+    // splits the file into chunks and parses them all concurrently
+    private static ChunkParser[] parseChunks(String filename, boolean asInts) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(filename, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            final long size = channel.size();
+            long chunkCount = Math.max(1, Math.min(size / MIN_CHUNK_LENGTH, ForkJoinPool.getCommonPoolParallelism() * 4L));
+            chunkCount = Math.max(chunkCount, size / (MAX_CHUNK_LENGTH >> 1) + 1);
+
+            List<ChunkParser> chunks = new ArrayList<ChunkParser>();
+            long start = 0;
+            for (long i = 1; i <= chunkCount && start < size; i++) {
+                long end = i == chunkCount ? size : endOfNumber(channel, i * size / chunkCount);
+                if (end > start) {
+                    chunks.add(new ChunkParser(channel, start, (int) (end - start), asInts));
+                }
+                start = end;
+            }
+            try {
+                ForkJoinTask.invokeAll(chunks);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return chunks.toArray(new ChunkParser[0]);
+        } finally {
+            file.close();
+        }
+    }
+
+    // finds the position of the first byte that is not a digit, from the given position on
+    private static long endOfNumber(FileChannel channel, long position) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        while (true) {
+            buf.clear();
+            int read = channel.read(buf, position);
+            if (read <= 0)
+                return position;
+            for (int i = 0; i < read; i++) {
+                byte b = buf.get(i);
+                if (b < '0' || b > '9')
+                    return position + i;
+            }
+            position += read;
+        }
+    }
+
+    // can a number start with this character
+    private static boolean isNumberStart(int cur) {
+        return (cur >= '0' && cur <= '9') || cur == '-' || cur == '+';
+    }
+
+    /**
+     * Parses all the numbers in a chunk of the file.
+     */
+    private static final class ChunkParser extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final int length;
+        private final boolean asInts;
+
+        private int[] ints;
+        private long[] longs;
+        private final IO.DigitRun digitRun = new IO.DigitRun();
+        private int count;
+
+        ChunkParser(FileChannel channel, long start, int length, boolean asInts) {
+            this.channel = channel;
+            this.start = start;
+            this.length = length;
+            this.asInts = asInts;
+        }
+
+        @Override
+        protected void compute() {
+            ByteBuffer buf;
+            try {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, start, length).order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // at least 2 bytes per number, but usually many more
+            final int estimate = length / 8 + 16;
+            if (asInts) {
+                ints = new int[estimate];
+            } else {
+                longs = new long[estimate];
+            }
+
+            final int limit = length;
+            int p = 0;
+            while (true) {
+                while (p < limit && !isNumberStart(buf.get(p))) {
+                    p++;
+                }
+                if (p >= limit)
+                    return;
+                int cur = buf.get(p);
+                boolean minus = false;
+                if (cur == '-') {
+                    minus = true;
+                    if (++p < limit)
+                        cur = buf.get(p);
+                }
+                if (cur == '+') {
+                    p++;
+                }
+                // the chunk ends between numbers, so the digits always end at its limit at the latest
+                digitRun.parse(buf, p, limit);
+                p = digitRun.end;
+                final long v = digitRun.value;
+                add(minus ? -v : v);
+            }
+        }
+
+        // adds a number to the chunk's array, growing it if needed
+        private void add(long v) {
+            if (asInts) {
+                if (count == ints.length) {
+                    ints = Arrays.copyOf(ints, count << 1);
+                }
+                ints[count++] = (int) v;
+            } else {
+                if (count == longs.length) {
+                    longs = Arrays.copyOf(longs, count << 1);
+                }
+                longs[count++] = v;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.adorow.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads an {@code InputStream} ahead of its use, in a background thread, into a ring of buffers.<br/>
+ * The thread reading from the stream and the single thread consuming the buffers only share two counters, so buffers are handed over without locks.
+ * A side that has to wait yields for a while, and then parks until the other side signals that it made progress, so an idle thread takes no CPU time.
+ * Used by IO, so that parsing the input does not stop every time the input buffer needs to be refilled.
+ */
+final class ReadAheadInput implements Runnable {
+
+    private static final int EOF = -1;
+    // the amount of times a waiting thread yields before parking
+    private static final int SPINS = 100;
+
+    private final InputStream source;
+    private final byte[][] buffers;
+    private final ByteBuffer[] windows;
+    private final int[] lengths;
+
+    // the amount of buffers already filled by the background thread
+    private final AtomicLong filled = new AtomicLong();
+    // the amount of buffers already given back by the consumer, that can be filled again
+    private final AtomicLong released = new AtomicLong();
+    // the thread of each side that is about to park, waiting for the other side
+    private final AtomicReference<Thread> waitingReader = new AtomicReference<Thread>();
+    private final AtomicReference<Thread> waitingConsumer = new AtomicReference<Thread>();
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    // the amount of buffers taken by the consumer, only used by the consumer thread
+    private long taken;
+    private boolean ended;
+
+    /**
+     * Starts reading ahead from the given stream.
+     *
+     * @param source        the stream to read from.
+     * @param buffers       the amount of buffers in the ring, at least 2.
+     * @param bufferLength  the size of each buffer.
+     * @throws IllegalArgumentException if there are less than 2 buffers, as the consumer holds one while the other ones are filled.
+     */
+    ReadAheadInput(InputStream source, int buffers, int bufferLength) {
+        if (buffers < 2)
+            throw new IllegalArgumentException("at least 2 buffers are needed to read ahead: " + buffers);
+        this.source = source;
+        this.buffers = new byte[buffers][bufferLength];
+        this.windows = new ByteBuffer[buffers];
+        this.lengths = new int[buffers];
+        for (int i = 0; i < buffers; i++) {
+            windows[i] = ByteBuffer.wrap(this.buffers[i]).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        Thread reader = new Thread(this, "io-read-ahead");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public void run() {
+        long count = 0;
+        while (true) {
+            int idle = 0;
+            while (count - released.get() >= buffers.length) {
+                if (closed)
+                    return;
+                idle = await(idle, waitingReader);
+            }
+            int slot = (int) (count % buffers.length);
+            int length;
+            try {
+                length = source.read(buffers[slot]);
+            } catch (IOException e) {
+                failure = e;
+                length = EOF;
+            }
+            lengths[slot] = length;
+            filled.set(++count);
+            signal(waitingConsumer);
+            if (length < 0 || closed)
+                return;
+        }
+    }
+
+    /**
+     * Gives back the buffer returned by the previous call, and takes the next filled one, waiting for it if necessary.
+     *
+     * @return the amount of bytes in the buffer, or EOF if the stream ended.
+     * @throws IOException if reading from the stream failed.
+     */
+    int next() throws IOException {
+        if (ended)
+            return EOF;
+        released.set(taken);
+        signal(waitingReader);
+        int idle = 0;
+        while (filled.get() <= taken) {
+            idle = await(idle, waitingConsumer);
+        }
+        int length = lengths[(int) (taken++ % buffers.length)];
+        if (length < 0) {
+            ended = true;
+            if (failure != null)
+                throw failure;
+        }
+        return length;
+    }
+
+    /**
+     * The buffer taken by the last call to #next().
+     */
+    ByteBuffer window() {
+        return windows[(int) ((taken - 1) % buffers.length)];
+    }
+
+    /**
+     * Stops reading ahead. The background thread ends as soon as it is not blocked reading from the stream.
+     */
+    void close() {
+        closed = true;
+        signal(waitingReader);
+    }
+
+    // waits for the other side, returning the new amount of idle checks: yields for a while, then registers the current thread as waiting,
+    // so that the caller checks its condition once more before the next call parks it; the other side must then store its progress
+    // in a volatile field before calling #signal(AtomicReference), so that either the condition or the registration is seen
+    static int await(int idle, AtomicReference<Thread> waiting) {
+        if (idle < SPINS) {
+            Thread.yield();
+        } else if (waiting.get() == null) {
+            waiting.set(Thread.currentThread());
+        } else {
+            LockSupport.park(waiting);
+        }
+        return idle + 1;
+    }
+
+    // wakes up the thread waiting for progress of the current thread, if any
+    static void signal(AtomicReference<Thread> waiting) {
+        if (waiting.get() != null) {
+            final Thread thread = waiting.getAndSet(null);
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    // spins for a while, then starts sleeping between checks, returning the new amount of idle checks; for polling what can not signal, like a non-blocking channel
+    static int backOff(int idle) {
+        if (idle < SPINS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50000L);
+        }
+        return idle + 1;
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.adorow.template;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Solves independent test cases concurrently, using all the available cores, and writes their answers in the original order.<br/>
+ * All the test cases are read up front, on the calling thread. Each one is then solved in a ForkJoinPool, writing its answer through
+ * an IO of the worker thread into a buffer of its own, and the buffers are written into the given IO in the order the cases were read.
+ * Only a bounded amount of cases is in flight at a time, so the buffers are reused instead of holding every answer in memory at once.
+ *
+ * @param <C> the type holding the input of a test case.
+ */
+public final class TestCaseRunner<C> {
+
+    /**
+     * Reads the input of a single test case.
+     */
+    public interface CaseReader<C> {
+        C read(IO io) throws IOException;
+    }
+
+    /**
+     * Solves a single test case, writing its answer with the #writeOut methods of the given IO.
+     */
+    public interface CaseSolver<C> {
+        void solve(C testCase, IO io) throws IOException;
+    }
+
+    // the amount of cases in flight for each thread of the pool
+    private static final int CASES_PER_THREAD = 4;
+    private static final int WORKER_OUT_BUFFER_LENGTH = 8192;
+
+    private final ForkJoinPool pool;
+    private final int window;
+    private final ConcurrentLinkedQueue<CaseOutput> outputs = new ConcurrentLinkedQueue<CaseOutput>();
+    // each worker thread writes through its own IO, switching its output to the buffer of the case it is solving
+    private final ThreadLocal<IO> workerIO = new ThreadLocal<IO>() {
+        @Override
+        protected IO initialValue() {
+            // the workers never read, so their input buffer is the smallest allowed
+            return new IO(IO.MIN_BUFFER_LENGTH, WORKER_OUT_BUFFER_LENGTH, false);
+        }
+    };
+
+    /**
+     * Creates a runner that uses the common ForkJoinPool.
+     */
+    public TestCaseRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a runner that uses the given pool.
+     *
+     * @param pool the pool where the test cases are solved.
+     */
+    public TestCaseRunner(ForkJoinPool pool) {
+        this.pool = pool;
+        this.window = pool.getParallelism() * CASES_PER_THREAD;
+    }
+
+    /**
+     * Reads the given amount of test cases from the input of an IO, solves them concurrently, and writes their answers into its output, in order.
+     *
+     * @param io     the IO to read the test cases from, and to write the answers to.
+     * @param cases  the amount of test cases to read.
+     * @param reader reads the input of a test case.
+     * @param solver solves a test case. It is called concurrently, so it must not share mutable state between test cases.
+     * @throws IOException if reading the input, or solving a test case, failed.
+     */
+    public void run(IO io, int cases, CaseReader<C> reader, final CaseSolver<C> solver) throws IOException {
+        final List<C> testCases = new ArrayList<C>(cases);
+        for (int i = 0; i < cases; i++) {
+            testCases.add(reader.read(io));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Future<CaseOutput>[] inFlight = new Future[window];
+        int submitted = 0;
+        for (int i = 0; i < cases; i++) {
+            while (submitted < cases && submitted - i < window) {
+                final C testCase = testCases.get(submitted);
+                testCases.set(submitted, null);
+                inFlight[submitted % window] = pool.submit(() -> solve(testCase, solver));
+                submitted++;
+            }
+            CaseOutput output = await(inFlight[i % window]);
+            inFlight[i % window] = null;
+            io.writeOut(output.bytes, 0, output.length);
+            output.length = 0;
+            outputs.offer(output);
+        }
+    }
+
+    // solves a test case into a buffer taken from the pool
+    private CaseOutput solve(C testCase, CaseSolver<C> solver) throws IOException {
+        CaseOutput output = outputs.poll();
+        if (output == null) {
+            output = new CaseOutput();
+        }
+        IO io = workerIO.get();
+        io.useChannelOut(output);
+        solver.solve(testCase, io);
+        io.flush();
+        return output;
+    }
+
+    private static CaseOutput await(Future<CaseOutput> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The answer of a single test case, in a buffer that grows as needed.
+     */
+    private static final class CaseOutput implements WritableByteChannel {
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        @Override
+        public int write(ByteBuffer src) {
+            final int n = src.remaining();
+            if (length + n > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + n)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+            src.get(bytes, length, n);
+            length += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
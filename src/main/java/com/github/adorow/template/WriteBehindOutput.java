@@ -0,0 +1,159 @@
+package com.github.adorow.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes buffers to an {@code OutputStream} or a {@code WritableByteChannel} in a background thread, while the next buffers are being filled.<br/>
+ * The single thread filling the buffers and the thread writing them out only share two counters, so buffers are handed over without locks.
+ * A side that has to wait yields for a while, and then parks until the other side signals that it made progress, so an idle writer takes no CPU time.
+ * Used by IO, so that formatting the output does not stop every time the output buffer needs to be written out.
+ */
+final class WriteBehindOutput implements Runnable {
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final byte[][] buffers;
+    private final ByteBuffer[] windows;
+    private final int[] lengths;
+
+    // the amount of buffers already handed to the background thread
+    private final AtomicLong submitted = new AtomicLong();
+    // the amount of buffers already written out by the background thread, that can be filled again
+    private final AtomicLong written = new AtomicLong();
+    // the thread of each side that is about to park, waiting for the other side
+    private final AtomicReference<Thread> waitingWriter = new AtomicReference<Thread>();
+    private final AtomicReference<Thread> waitingProducer = new AtomicReference<Thread>();
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    // the amount of buffers handed over by the producer, only used by the producer thread
+    private long count;
+
+    /**
+     * Starts writing behind into the given stream or channel (one of them must be {@code null}).
+     *
+     * @param stream       the stream to write to.
+     * @param channel      the channel to write to.
+     * @param buffers      the amount of buffers in the ring, at least 2.
+     * @param bufferLength the size of each buffer.
+     * @throws IllegalArgumentException if there are less than 2 buffers, as the producer fills one while the other ones are written out.
+     */
+    WriteBehindOutput(OutputStream stream, WritableByteChannel channel, int buffers, int bufferLength) {
+        if (buffers < 2)
+            throw new IllegalArgumentException("at least 2 buffers are needed to write behind: " + buffers);
+        this.stream = stream;
+        this.channel = channel;
+        this.buffers = new byte[buffers][bufferLength];
+        this.windows = new ByteBuffer[buffers];
+        this.lengths = new int[buffers];
+        for (int i = 0; i < buffers; i++) {
+            windows[i] = ByteBuffer.wrap(this.buffers[i]);
+        }
+
+        Thread writer = new Thread(this, "io-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void run() {
+        long done = 0;
+        while (true) {
+            int idle = 0;
+            while (submitted.get() <= done) {
+                if (closed)
+                    return;
+                idle = ReadAheadInput.await(idle, waitingWriter);
+            }
+            int slot = (int) (done % buffers.length);
+            if (failure == null) {
+                try {
+                    write(slot);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            written.set(++done);
+            ReadAheadInput.signal(waitingProducer);
+        }
+    }
+
+    // writes out the content of a buffer
+    private void write(int slot) throws IOException {
+        if (channel != null) {
+            ByteBuffer window = windows[slot];
+            window.clear();
+            window.limit(lengths[slot]);
+            while (window.hasRemaining()) {
+                channel.write(window);
+            }
+        } else {
+            stream.write(buffers[slot], 0, lengths[slot]);
+        }
+    }
+
+    /**
+     * The buffer to be filled first.
+     */
+    byte[] first() {
+        return buffers[0];
+    }
+
+    /**
+     * Hands the buffer returned by the previous call (or by #first()) to the background thread, and takes the next free buffer, waiting for it if necessary.
+     *
+     * @param length the amount of bytes filled in the buffer.
+     * @return the next buffer to be filled.
+     */
+    byte[] submit(int length) {
+        checkFailure();
+        lengths[(int) (count % buffers.length)] = length;
+        submitted.set(++count);
+        ReadAheadInput.signal(waitingWriter);
+        int idle = 0;
+        while (count - written.get() >= buffers.length) {
+            idle = ReadAheadInput.await(idle, waitingProducer);
+        }
+        return buffers[(int) (count % buffers.length)];
+    }
+
+    /**
+     * Waits until every buffer handed over has been written out, and flushes the stream.
+     */
+    void drain() {
+        int idle = 0;
+        while (written.get() < count) {
+            idle = ReadAheadInput.await(idle, waitingProducer);
+        }
+        checkFailure();
+        if (stream != null) {
+            try {
+                stream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes out everything handed over, and stops the background thread.
+     */
+    void close() {
+        drain();
+        closed = true;
+        ReadAheadInput.signal(waitingWriter);
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new UncheckedIOException(failure);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.github.adorow.template.datastructure;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Queue that holds {@code int}s outside of the Java heap, for BFS frontiers of billions of states.<br/>
+ * The elements are kept in fixed size segments, either direct buffers or regions of a memory mapped scratch file, and positions are {@code long}s,
+ * so the queue is not limited to 2^31 elements and its content is never scanned by the garbage collector.
+ * Segments are taken when the end of the queue reaches a new one, and given back to a pool as soon as the start of the queue leaves them,
+ * so the memory (or file) used only grows with the largest amount of elements held at once.
+ * Direct buffers are capped by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size ({@code -Xmx}), so with a small heap
+ * the queue runs out of direct memory early (about 16M elements with {@code -Xmx64m}); the scratch file is only limited by the disk.
+ * #dequeue() does not check whether the queue is empty, is the user's responsibility to check that whenever necessary.
+ */
+public class BigIntQueue implements Closeable {
+
+    // 4MB segments
+    private static final int SEGMENT_SHIFT = 20;
+    private static final int SEGMENT_LENGTH = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_LENGTH - 1;
+
+    private final ArrayDeque<IntBuffer> segments = new ArrayDeque<IntBuffer>();
+    private final ArrayDeque<IntBuffer> pool = new ArrayDeque<IntBuffer>();
+
+    // the scratch file the segments are mapped from, or null if they are direct buffers
+    private final File scratchFile;
+    private final RandomAccessFile scratch;
+    private final FileChannel scratchChannel;
+    private long mappedSegments;
+
+    private IntBuffer first, last;
+    private long ini, end;
+
+    /**
+     * Creates a new queue, in direct buffers, which can not hold more than {@code -XX:MaxDirectMemorySize} (by default {@code -Xmx}) bytes.
+     */
+    public BigIntQueue() {
+        this.scratchFile = null;
+        this.scratch = null;
+        this.scratchChannel = null;
+    }
+
+    /**
+     * Creates a new queue, in a memory mapped scratch file, so that the operating system can page out the parts of the queue not in use.
+     * @param scratchFile the file to be used, which is overwritten, and deleted when the queue is closed (or when the JVM exits).
+     * @throws IOException if the file could not be created.
+     */
+    public BigIntQueue(String scratchFile) throws IOException {
+        this.scratchFile = new File(scratchFile);
+        this.scratch = new RandomAccessFile(this.scratchFile, "rw");
+        this.scratchChannel = scratch.getChannel();
+        this.scratchFile.deleteOnExit();
+    }
+
+    /**
+     * Returns the amount of elements that the queue currently holds.
+     * @return the current size of the queue.
+     */
+    public long size() {
+        return end - ini;
+    }
+
+    /**
+     * Tells whether the queue is currently empty.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return ini == end;
+    }
+
+    /**
+     * Empties the queue. Removing every element it contains, and giving its segments back to the pool.
+     */
+    public void empty() {
+        while (!segments.isEmpty()) {
+            pool.push(segments.pollFirst());
+        }
+        first = last = null;
+        ini = end = 0;
+    }
+
+    /**
+     * Adds a new element to the end of the queue.
+     * @param v the element to be added.
+     */
+    public void enqueue(int v) {
+        if ((end & SEGMENT_MASK) == 0) {
+            last = takeSegment();
+            segments.addLast(last);
+            if (first == null) {
+                first = last;
+            }
+        }
+        last.put((int) (end++ & SEGMENT_MASK), v);
+    }
+
+    /**
+     * Removes the first element of the queue.
+     * @return the first element of the queue.
+     */
+    public int dequeue() {
+        final int v = first.get((int) (ini++ & SEGMENT_MASK));
+        if ((ini & SEGMENT_MASK) == 0) {
+            // the start of the queue left the segment
+            pool.push(segments.pollFirst());
+            first = segments.peekFirst();
+        }
+        return v;
+    }
+
+    /**
+     * Releases the memory of the queue, and deletes its scratch file, if any. The queue can not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        pool.clear();
+        first = last = null;
+        if (scratch != null) {
+            scratch.close();
+            scratchFile.delete();
+        }
+    }
+
+    // a free segment from the pool, or a new one
+    private IntBuffer takeSegment() {
+        if (!pool.isEmpty())
+            return pool.pop();
+        final long bytes = (long) SEGMENT_LENGTH * 4;
+        if (scratchChannel == null)
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+        try {
+            return scratchChannel.map(FileChannel.MapMode.READ_WRITE, mappedSegments++ * bytes, bytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
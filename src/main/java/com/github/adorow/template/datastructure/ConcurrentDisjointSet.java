@@ -0,0 +1,136 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Disjoint sets of the elements from 0 to n - 1 (union-find) that can be used by many threads at once, without locks.<br/>
+ * Roots are linked with a CAS on the parent array, which only succeeds if the root is still a root, and path halving is done with a CAS as well,
+ * which may fail harmlessly when another thread changed the path first.
+ * Instead of union by size, which would need the size and the parent of a root to change together, roots are linked by a fixed random priority
+ * (a hash of the element), which keeps the trees shallow just as well in expectation, and makes cycles impossible.
+ * #unionAll(int[], int[]) joins the pairs of two arrays in parallel, for connected components and the like.
+ */
+public class ConcurrentDisjointSet {
+
+    // the smallest amount of pairs worth joining in a task of their own
+    private static final int MIN_TASK_LENGTH = 1 << 16;
+
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Creates a new structure, with each element in a set of its own.
+     * @param n the amount of elements.
+     */
+    public ConcurrentDisjointSet(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    /**
+     * Finds the representative of the set of an element, which is the same for all the elements of a set, as long as no other thread joins it to another set.
+     * @param x the element.
+     * @return the representative of its set.
+     */
+    public int find(int x) {
+        while (true) {
+            final int p = parent.get(x);
+            if (p == x)
+                return x;
+            final int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Joins the sets of two elements.
+     * @param a one of the elements.
+     * @param b the other element.
+     * @return {@code true} if this call joined two different sets, {@code false} if the elements already were in the same set.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b)
+                return false;
+            if (lowerPriority(b, a)) {
+                final int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            // a has the lower priority, and is linked under b if nothing linked it somewhere else first
+            if (parent.compareAndSet(a, a, b))
+                return true;
+        }
+    }
+
+    /**
+     * Tells whether two elements are in the same set.
+     * @param a one of the elements.
+     * @param b the other element.
+     * @return {@code true} if both are in the same set, {@code false} otherwise.
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b)
+                return true;
+            // a was a root while b was found, so they really were in different sets at that point
+            if (parent.get(a) == a)
+                return false;
+        }
+    }
+
+    /**
+     * Joins the sets of the two elements of each pair, given in two arrays, using all the available cores.
+     * @param as the first element of each pair.
+     * @param bs the second element of each pair.
+     */
+    public void unionAll(int[] as, int[] bs) {
+        ForkJoinPool.commonPool().invoke(new UnionTask(as, bs, 0, as.length));
+    }
+
+    // whether a root is linked under the other one: the priority is a hash of the element, a multiplication by an odd number, so no two elements share it
+    private static boolean lowerPriority(int a, int b) {
+        return a * 0x9E3779B9 < b * 0x9E3779B9;
+    }
+
+    private final class UnionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] as;
+        private final int[] bs;
+        private final int from;
+        private final int to;
+
+        UnionTask(int[] as, int[] bs, int from, int to) {
+            this.as = as;
+            this.bs = bs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_TASK_LENGTH) {
+                for (int i = from; i < to; i++) {
+                    union(as[i], bs[i]);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new UnionTask(as, bs, from, middle), new UnionTask(as, bs, middle, to));
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Disjoint sets of the elements from 0 to n - 1 (union-find), kept in two flat arrays.<br/>
+ * Sets are trees of parent pointers: the smaller tree is always linked under the root of the larger one (union by size),
+ * and every lookup makes each node on its path point to its grandparent (path halving), which keeps the trees almost flat
+ * without the recursion, or the second pass, of full path compression.
+ * No boundary checks are done, the user of this class has to do it.
+ */
+public class DisjointSet {
+
+    private final int[] parent;
+    // the amount of elements in each set, only up to date for the roots
+    private final int[] size;
+    private int sets;
+
+    /**
+     * Creates a new structure, with each element in a set of its own.
+     * @param n the amount of elements.
+     */
+    public DisjointSet(int n) {
+        parent = new int[n];
+        size = new int[n];
+        reset();
+    }
+
+    /**
+     * Puts each element back in a set of its own.
+     */
+    public void reset() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        sets = parent.length;
+    }
+
+    /**
+     * Finds the representative of the set of an element, which is the same for all the elements of a set.
+     * @param x the element.
+     * @return the representative of its set.
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            x = parent[x] = parent[parent[x]];
+        }
+        return x;
+    }
+
+    /**
+     * Joins the sets of two elements.
+     * @param a one of the elements.
+     * @param b the other element.
+     * @return {@code true} if the elements were in different sets, {@code false} if they already were in the same set.
+     */
+    public boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b)
+            return false;
+        if (size[a] < size[b]) {
+            final int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+        sets--;
+        return true;
+    }
+
+    /**
+     * Joins the sets of the two elements of each pair, given in two arrays.
+     * @param as the first element of each pair.
+     * @param bs the second element of each pair.
+     * @return the amount of pairs whose elements were in different sets.
+     */
+    public int unionAll(int[] as, int[] bs) {
+        int joined = 0;
+        for (int i = 0; i < as.length; i++) {
+            if (union(as[i], bs[i])) {
+                joined++;
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Tells whether two elements are in the same set.
+     * @param a one of the elements.
+     * @param b the other element.
+     * @return {@code true} if both are in the same set, {@code false} otherwise.
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * The amount of elements in the set of an element.
+     * @param x the element.
+     * @return the size of its set.
+     */
+    public int setSize(int x) {
+        return size[find(x)];
+    }
+
+    /**
+     * The amount of disjoint sets.
+     * @return the amount of sets.
+     */
+    public int sets() {
+        return sets;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.github.adorow.template.datastructure;
+
+// generated from codegen/templates/Queue.template by PrimitiveCollectionsGenerator, edit the template instead
+/**
+ * Standard queue implementation that holds {@code double}s, in a ring buffer that doubles in size whenever it is full.<br/>
+ * The capacity is always a power of 2, so positions in the ring are found with a mask instead of a division.
+ * #enqueueUnchecked(double) skips the check for a full queue, for when the maximum size is known up front.
+ * #dequeue() does not check whether the queue is empty, is the user's responsibility to check that whenever necessary.
+ */
+public class DoubleQueue {
+
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private double[] q;
+    private int mask;
+
+    // positions of the first element and of the next free slot; only ever increase, and are masked when used as indexes
+    private int ini, end;
+
+    /**
+     * Creates a new queue.
+     * @param size the amount of elements this queue should be able to hold before it needs to grow.
+     * @throws IllegalArgumentException if size is above 2^30, the largest power of 2 an array can hold.
+     */
+    public DoubleQueue(int size) {
+        if (size > MAX_CAPACITY)
+            throw new IllegalArgumentException("size too large: " + size);
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.q = new double[capacity];
+        this.mask = capacity - 1;
+        empty();
+    }
+
+    /**
+     * The amount of elements that this queue can hold before it needs to grow.
+     * @return the capacity of the queue.
+     */
+    public int capacity() {
+        return q.length;
+    }
+
+    /**
+     * Returns the amount of elements that the queue currently holds.
+     * @return the current size of the queue.
+     */
+    public int size() {
+        return end - ini;
+    }
+
+    /**
+     * Empties the queue. Removing every element it contains. Resulting in the next call to #isEmpty() to return {@code true}, if no new element is added.
+     */
+    public void empty() {
+        ini = end = 0;
+    }
+
+    /**
+     * Tells whether the queue is currently empty.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return ini == end;
+    }
+
+    /**
+     * Adds a new element to the end of the queue, growing the queue if it is full.
+     * @param v the element to be added.
+     */
+    public void enqueue(double v) {
+        if (end - ini == q.length) {
+            grow();
+        }
+        q[end++ & mask] = v;
+    }
+
+    /**
+     * Adds a new element to the end of the queue, without checking whether the queue is full.
+     * The queue must have been created with enough capacity for all the elements it will hold at once.
+     * @param v the element to be added.
+     */
+    public void enqueueUnchecked(double v) {
+        q[end++ & mask] = v;
+    }
+
+    /**
+     * Removes the first element of the queue.
+     * @return the first element of the queue.
+     */
+    public double dequeue() {
+        return q[ini++ & mask];
+    }
+
+    /**
+     * Retrieves the first element of the queue, without removing it.
+     * @return the first element of the queue.
+     */
+    public double peek() {
+        return q[ini & mask];
+    }
+
+    // doubles the capacity, moving the elements to the start of the new ring
+    private void grow() {
+        if (q.length == MAX_CAPACITY)
+            throw new IllegalStateException("the queue can not hold more than " + MAX_CAPACITY + " elements");
+        final int size = end - ini;
+        final int first = ini & mask;
+        double[] grown = new double[q.length << 1];
+        System.arraycopy(q, first, grown, 0, q.length - first);
+        System.arraycopy(q, 0, grown, q.length - first, first);
+        q = grown;
+        mask = grown.length - 1;
+        ini = 0;
+        end = size;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.adorow.template.datastructure;
+
+// generated from codegen/templates/Stack.template by PrimitiveCollectionsGenerator, edit the template instead
+/**
+ * Standard bounded stack implementation that holds {@code double}s.<br/>
+ * This implementation does not check for any boundaries when executing modifying operations, is the user's responsibility to check those whenever necessary.
+ */
+public class DoubleStack {
+
+    private double[] S;
+    private int len;
+
+    /**
+     * Creates a new stack of a fixed size.
+     * @param size the maximum number of elements this Stack can hold.
+     */
+    public DoubleStack(int size) {
+        S = new double[size];
+        len = 0;
+    }
+
+    /**
+     * Cleans up the Stack, removing all its elements.
+     */
+    public void empty() {
+        len = 0;
+    }
+
+    /**
+     * Pushes a new element into the top of the stack.
+     * @param v the element to add to the top of the stack.
+     */
+    public void push(double v) {
+        S[len++] = v;
+    }
+
+    /**
+     * Pops and element out of the top of the stack.
+     * @return the top element in the stack.
+     */
+    public double pop() {
+        return S[--len];
+    }
+
+    /**
+     * Retrieves the top element of the stack, without modifying the stack.
+     * @return the top element in the stack.
+     */
+    public double peek() {
+        return S[len - 1];
+    }
+
+
+    /**
+     * Tells whether the stack is full.
+     * @return {@code true} if the stack is full, {@code false} otherwise.
+     */
+    public boolean isFull() {
+        return len == S.length;
+    }
+
+    /**
+     * Tells whether the stack is empty.
+     * @return {@code true} if the stack is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return len == 0;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Fenwick tree (binary indexed tree) of {@code long}s: adds a value to a position, and sums a range of positions, both in O(log n) time.<br/>
+ * Each position i of the tree holds the sum of the {@code i & -i} values ending at it, so a prefix sum is the sum of one position per set bit of its length.
+ * Positions are numbered from 0 for the user, and from 1 inside the tree. Nothing is allocated after creation.
+ * No boundary checks are done, the user of this class has to do it.
+ */
+public class FenwickTree {
+
+    private final long[] tree;
+
+    /**
+     * Creates a new tree, with all the values set to 0.
+     * @param n the amount of positions.
+     */
+    public FenwickTree(int n) {
+        tree = new long[n + 1];
+    }
+
+    /**
+     * Creates a new tree with the given values, in O(n) time.
+     * @param values the value of each position.
+     */
+    public FenwickTree(long[] values) {
+        tree = new long[values.length + 1];
+        System.arraycopy(values, 0, tree, 1, values.length);
+        build();
+    }
+
+    /**
+     * Creates a new tree with the given values, in O(n) time.
+     * @param values the value of each position.
+     */
+    public FenwickTree(int[] values) {
+        tree = new long[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            tree[i + 1] = values[i];
+        }
+        build();
+    }
+
+    // turns the values into partial sums, by adding each position to the next one that covers it
+    private void build() {
+        for (int i = 1; i < tree.length; i++) {
+            final int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * The amount of positions.
+     * @return the size of the tree.
+     */
+    public int size() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds a value to a position.
+     * @param i     the position.
+     * @param delta the value to be added.
+     */
+    public void add(int i, long delta) {
+        for (i++; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * The sum of the values of the first positions.
+     * @param end the position after the last one summed.
+     * @return the sum of the values from position 0 to end - 1.
+     */
+    public long prefixSum(int end) {
+        long sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * The sum of the values of a range of positions.
+     * @param from the first position summed.
+     * @param to   the position after the last one summed.
+     * @return the sum of the values from position from to to - 1.
+     */
+    public long sum(int from, int to) {
+        return prefixSum(to) - prefixSum(from);
+    }
+
+    /**
+     * The value of a single position.
+     * @param i the position.
+     * @return the value of the position.
+     */
+    public long get(int i) {
+        return sum(i, i + 1);
+    }
+
+}
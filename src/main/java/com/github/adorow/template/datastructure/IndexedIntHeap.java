@@ -0,0 +1,184 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of the indexes from 0 to n - 1, ordered by an {@code int} key of each index, that supports changing the key of an index already in the heap.<br/>
+ * Each index is in the heap at most once, and its position in the heap is kept in an array, so decreasing its key takes O(log n) time.
+ * This is the priority queue of Dijkstra and Prim without duplicates: the heap never holds more than n elements, and no stale entries are ever popped.
+ * Removing or peeking does not check whether the heap is empty, is the user's responsibility to check that whenever necessary.
+ */
+public class IndexedIntHeap {
+
+    private static final int ABSENT = -1;
+
+    // the indexes, in heap order
+    private final int[] heap;
+    // the position of each index in the heap, or ABSENT
+    private final int[] positions;
+    private final int[] keys;
+    private int size;
+
+    /**
+     * Creates a new heap.
+     * @param n the amount of indexes, which go from 0 to n - 1.
+     */
+    public IndexedIntHeap(int n) {
+        heap = new int[n];
+        positions = new int[n];
+        keys = new int[n];
+        Arrays.fill(positions, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Returns the amount of indexes that the heap currently holds.
+     * @return the current size of the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the heap, removing every index it contains.
+     */
+    public void empty() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    /**
+     * Tells whether the heap is currently empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Tells whether an index is in the heap.
+     * @param index the index.
+     * @return {@code true} if the index is in the heap, {@code false} otherwise.
+     */
+    public boolean contains(int index) {
+        return positions[index] != ABSENT;
+    }
+
+    /**
+     * The key of an index that is in the heap.
+     * @param index the index.
+     * @return the key of the index.
+     */
+    public int key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Adds an index that is not in the heap.
+     * @param index the index to be added.
+     * @param key   the key of the index.
+     */
+    public void push(int index, int key) {
+        keys[index] = key;
+        siftUp(size++, index);
+    }
+
+    /**
+     * Decreases the key of an index that is in the heap. The new key must not be larger than the current one.
+     * @param index the index.
+     * @param key   the new key of the index.
+     */
+    public void decreaseKey(int index, int key) {
+        keys[index] = key;
+        siftUp(positions[index], index);
+    }
+
+    /**
+     * Adds an index with a key, or decreases its key if it is already in the heap with a larger key.
+     * This is the relaxation step of Dijkstra.
+     * @param index the index.
+     * @param key   the key of the index.
+     * @return {@code true} if the index was added or its key decreased, {@code false} if it already had a key that is not larger.
+     */
+    public boolean pushOrDecrease(int index, int key) {
+        if (positions[index] == ABSENT) {
+            push(index, key);
+            return true;
+        }
+        if (key < keys[index]) {
+            decreaseKey(index, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the index with the smallest key, without removing it.
+     * @return the index with the smallest key.
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Retrieves the smallest key in the heap, without removing it.
+     * @return the smallest key.
+     */
+    public int peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes the index with the smallest key. Its key can still be retrieved with #key(int).
+     * @return the index with the smallest key.
+     */
+    public int pop() {
+        final int top = heap[0];
+        positions[top] = ABSENT;
+        final int last = --size;
+        if (last > 0) {
+            siftDown(heap[last]);
+        }
+        return top;
+    }
+
+    // moves the hole at position i up until the index fits in it
+    private void siftUp(int i, int index) {
+        final int key = keys[index];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            final int other = heap[parent];
+            if (keys[other] <= key)
+                break;
+            heap[i] = other;
+            positions[other] = i;
+            i = parent;
+        }
+        heap[i] = index;
+        positions[index] = i;
+    }
+
+    // moves the hole at the root down until the index fits in it
+    private void siftDown(int index) {
+        final int key = keys[index];
+        int i = 0;
+        final int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            final int other = heap[child];
+            if (key <= keys[other])
+                break;
+            heap[i] = other;
+            positions[other] = i;
+            i = child;
+        }
+        heap[i] = index;
+        positions[index] = i;
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Double-ended queue implementation that holds {@code int}s, in a ring buffer that doubles in size whenever it is full.<br/>
+ * Elements can be added and removed at both ends in constant time, which is what 0-1 BFS and sliding window algorithms need.
+ * The capacity is always a power of 2, so positions in the ring are found with a mask instead of a division.
+ * Removing or peeking does not check whether the deque is empty, is the user's responsibility to check that whenever necessary.
+ */
+public class IntDeque {
+
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] q;
+    private int mask;
+
+    // positions of the first element and of the next free slot after the last one; masked when used as indexes
+    private int ini, end;
+
+    /**
+     * Creates a new deque.
+     * @param size the amount of elements this deque should be able to hold before it needs to grow.
+     * @throws IllegalArgumentException if size is above 2^30, the largest power of 2 an array can hold.
+     */
+    public IntDeque(int size) {
+        if (size > MAX_CAPACITY)
+            throw new IllegalArgumentException("size too large: " + size);
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.q = new int[capacity];
+        this.mask = capacity - 1;
+        empty();
+    }
+
+    /**
+     * The amount of elements that this deque can hold before it needs to grow.
+     * @return the capacity of the deque.
+     */
+    public int capacity() {
+        return q.length;
+    }
+
+    /**
+     * Returns the amount of elements that the deque currently holds.
+     * @return the current size of the deque.
+     */
+    public int size() {
+        return end - ini;
+    }
+
+    /**
+     * Empties the deque, removing every element it contains.
+     */
+    public void empty() {
+        ini = end = 0;
+    }
+
+    /**
+     * Tells whether the deque is currently empty.
+     * @return {@code true} if the deque is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return ini == end;
+    }
+
+    /**
+     * Adds a new element before the first element of the deque, growing the deque if it is full.
+     * @param v the element to be added.
+     */
+    public void pushFirst(int v) {
+        if (end - ini == q.length) {
+            grow();
+        }
+        q[--ini & mask] = v;
+    }
+
+    /**
+     * Adds a new element after the last element of the deque, growing the deque if it is full.
+     * @param v the element to be added.
+     */
+    public void pushLast(int v) {
+        if (end - ini == q.length) {
+            grow();
+        }
+        q[end++ & mask] = v;
+    }
+
+    /**
+     * Removes the first element of the deque.
+     * @return the first element of the deque.
+     */
+    public int popFirst() {
+        return q[ini++ & mask];
+    }
+
+    /**
+     * Removes the last element of the deque.
+     * @return the last element of the deque.
+     */
+    public int popLast() {
+        return q[--end & mask];
+    }
+
+    /**
+     * Retrieves the first element of the deque, without removing it.
+     * @return the first element of the deque.
+     */
+    public int peekFirst() {
+        return q[ini & mask];
+    }
+
+    /**
+     * Retrieves the last element of the deque, without removing it.
+     * @return the last element of the deque.
+     */
+    public int peekLast() {
+        return q[(end - 1) & mask];
+    }
+
+    /**
+     * Retrieves an element of the deque, without removing it.
+     * @param i the position of the element, from 0 (the first element) to #size() - 1 (the last one).
+     * @return the element at the given position.
+     */
+    public int get(int i) {
+        return q[(ini + i) & mask];
+    }
+
+    // doubles the capacity, moving the elements to the start of the new ring
+    private void grow() {
+        if (q.length == MAX_CAPACITY)
+            throw new IllegalStateException("the deque can not hold more than " + MAX_CAPACITY + " elements");
+        final int size = end - ini;
+        final int first = ini & mask;
+        int[] grown = new int[q.length << 1];
+        System.arraycopy(q, first, grown, 0, q.length - first);
+        System.arraycopy(q, 0, grown, q.length - first, first);
+        q = grown;
+        mask = grown.length - 1;
+        ini = 0;
+        end = size;
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Arrays;
+
+/**
+ * Hash set of {@code int}s, without boxing and without an object per element.<br/>
+ * Works the same way as IntIntHashMap, without the values: an open addressing table with linear probing, a mixing hash, and removals that shift back the following elements.
+ * An empty slot is marked with 0, so the element 0 itself is kept apart from the table.
+ */
+public class IntHashSet {
+
+    private static final int FREE = 0;
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] elements;
+    private int mask;
+    // the amount of elements in the table, which does not include 0, and the amount that makes the table grow
+    private int used;
+    private int threshold;
+
+    private boolean hasZero;
+
+    /**
+     * Creates a new set.
+     * @param expectedSize the amount of elements this set should be able to hold before it needs to grow.
+     * @throws IllegalArgumentException if the table for it would not fit in an array, above 805306368 (3/4 of 2^30).
+     */
+    public IntHashSet(int expectedSize) {
+        if (expectedSize > MAX_CAPACITY / 4 * 3)
+            throw new IllegalArgumentException("expected size too large: " + expectedSize);
+        int capacity = 4;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        elements = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the amount of elements that the set currently holds.
+     * @return the current size of the set.
+     */
+    public int size() {
+        return used + (hasZero ? 1 : 0);
+    }
+
+    /**
+     * Tells whether the set is currently empty.
+     * @return {@code true} if the set is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Empties the set, removing every element it contains.
+     */
+    public void empty() {
+        Arrays.fill(elements, FREE);
+        used = 0;
+        hasZero = false;
+    }
+
+    /**
+     * Tells whether an element is in the set.
+     * @param v the element.
+     * @return {@code true} if the element is in the set, {@code false} otherwise.
+     */
+    public boolean contains(int v) {
+        if (v == FREE)
+            return hasZero;
+        return elements[find(v)] != FREE;
+    }
+
+    /**
+     * Adds an element to the set.
+     * @param v the element to be added.
+     * @return {@code true} if the element was added, {@code false} if it was already in the set.
+     */
+    public boolean add(int v) {
+        if (v == FREE) {
+            final boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = find(v);
+        if (elements[slot] != FREE)
+            return false;
+        if (used == threshold) {
+            // grows before changing anything, so a full table is left as it was
+            grow();
+            slot = find(v);
+        }
+        elements[slot] = v;
+        used++;
+        return true;
+    }
+
+    /**
+     * Removes an element from the set.
+     * @param v the element to be removed.
+     * @return {@code true} if the element was in the set, {@code false} otherwise.
+     */
+    public boolean remove(int v) {
+        if (v == FREE) {
+            final boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int gap = find(v);
+        if (elements[gap] == FREE)
+            return false;
+        used--;
+        // shifts back the following elements of the run that can take the place of the removed one, so that no element ends up after a free slot
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            final int e = elements[i];
+            if (e == FREE)
+                break;
+            final int home = IntIntHashMap.mix(e) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                elements[gap] = e;
+                gap = i;
+            }
+        }
+        elements[gap] = FREE;
+        return true;
+    }
+
+    /**
+     * All the elements in the set, in no particular order.
+     * @return a new array with the elements.
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasZero) {
+            result[n++] = FREE;
+        }
+        for (int e : elements) {
+            if (e != FREE) {
+                result[n++] = e;
+            }
+        }
+        return result;
+    }
+
+    // the slot holding the element, or the free slot where it would be inserted
+    private int find(int v) {
+        int slot = IntIntHashMap.mix(v) & mask;
+        while (true) {
+            final int e = elements[slot];
+            if (e == v || e == FREE)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // doubles the size of the table, putting every element in its new place
+    private void grow() {
+        if (elements.length == MAX_CAPACITY)
+            throw new IllegalStateException("the table can not hold more than " + threshold + " elements");
+        final int[] old = elements;
+        elements = new int[old.length << 1];
+        mask = elements.length - 1;
+        threshold = elements.length / 4 * 3;
+        for (int e : old) {
+            if (e != FREE) {
+                elements[find(e)] = e;
+            }
+        }
+    }
+
+}
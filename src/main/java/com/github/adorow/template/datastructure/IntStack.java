@@ -1,5 +1,6 @@
 package com.github.adorow.template.datastructure;
 
+// generated from codegen/templates/Stack.template by PrimitiveCollectionsGenerator, edit the template instead
 /**
  * Standard bounded stack implementation that holds {@code int}s.<br/>
  * This implementation does not check for any boundaries when executing modifying operations, is the user's responsibility to check those whenever necessary.
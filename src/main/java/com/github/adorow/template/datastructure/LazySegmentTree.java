@@ -0,0 +1,205 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Segment tree of {@code long}s that adds a value to a whole range, and finds the sum or the minimum of a range, all in O(log n) time.<br/>
+ * The tree is kept in a flat array (node i has children 2i and 2i + 1, and the leaves start at a power of 2) and is walked bottom-up, without recursion.
+ * A range update only touches the O(log n) nodes that exactly cover the range, leaving the value pending (lazy) in them,
+ * and pending values are pushed down to the children only on the paths from the borders of later ranges to the root.
+ * Nothing is allocated after creation. No boundary checks are done, the user of this class has to do it.
+ */
+public class LazySegmentTree {
+
+    private final int n;
+    private final int size;
+    private final int height;
+
+    // for each node i, its sum at 3i, its minimum at 3i + 1, and the value still to be added to its children at 3i + 2,
+    // so that the values of a node share the same cache line
+    private final long[] tree;
+
+    /**
+     * Creates a new tree, with all the values set to 0.
+     * @param n the amount of positions.
+     */
+    public LazySegmentTree(int n) {
+        this(new long[n]);
+    }
+
+    /**
+     * Creates a new tree with the given values, in O(n) time.
+     * @param values the value of each position.
+     */
+    public LazySegmentTree(long[] values) {
+        this.n = values.length;
+        this.height = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+        this.size = 1 << height;
+        this.tree = new long[3 * 2 * size];
+        // the leaves after the last position are never part of a range, only of the nodes above them, which are never fully inside a range either
+        for (int i = 0; i < n; i++) {
+            tree[3 * (size + i)] = values[i];
+            tree[3 * (size + i) + 1] = values[i];
+        }
+        for (int i = size - 1; i > 0; i--) {
+            pull(i);
+        }
+    }
+
+    /**
+     * Creates a new tree with the given values, in O(n) time.
+     * @param values the value of each position.
+     */
+    public LazySegmentTree(int[] values) {
+        this(toLongs(values));
+    }
+
+    private static long[] toLongs(int[] values) {
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longs[i] = values[i];
+        }
+        return longs;
+    }
+
+    /**
+     * The amount of positions.
+     * @return the size of the tree.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Adds a value to every position in a range.
+     * @param from  the first position of the range.
+     * @param to    the position after the last one of the range.
+     * @param delta the value to be added.
+     */
+    public void add(int from, int to, long delta) {
+        if (from >= to)
+            return;
+        int l = from + size;
+        int r = to + size;
+        pushBorders(l, r);
+        for (int leaves = 1; l < r; leaves <<= 1) {
+            if ((l & 1) != 0) {
+                apply(l++, delta, leaves);
+            }
+            if ((r & 1) != 0) {
+                apply(--r, delta, leaves);
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        // the nodes above the borders of the range get the new values of their children
+        l = from + size;
+        r = to + size;
+        for (int h = 1; h <= height; h++) {
+            if (((l >> h) << h) != l) {
+                pull(l >> h);
+            }
+            if (((r >> h) << h) != r) {
+                pull((r - 1) >> h);
+            }
+        }
+    }
+
+    /**
+     * The sum of the values of a range of positions.
+     * @param from the first position of the range.
+     * @param to   the position after the last one of the range.
+     * @return the sum of the values in the range, 0 if it is empty.
+     */
+    public long sum(int from, int to) {
+        if (from >= to)
+            return 0;
+        int l = from + size;
+        int r = to + size;
+        pushBorders(l, r);
+        long result = 0;
+        while (l < r) {
+            if ((l & 1) != 0) {
+                result += tree[3 * l++];
+            }
+            if ((r & 1) != 0) {
+                result += tree[3 * --r];
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * The minimum of the values of a range of positions.
+     * @param from the first position of the range.
+     * @param to   the position after the last one of the range.
+     * @return the minimum of the values in the range, {@code Long.MAX_VALUE} if it is empty.
+     */
+    public long min(int from, int to) {
+        if (from >= to)
+            return Long.MAX_VALUE;
+        int l = from + size;
+        int r = to + size;
+        pushBorders(l, r);
+        long result = Long.MAX_VALUE;
+        while (l < r) {
+            if ((l & 1) != 0) {
+                result = Math.min(result, tree[3 * l++ + 1]);
+            }
+            if ((r & 1) != 0) {
+                result = Math.min(result, tree[3 * --r + 1]);
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * The value of a single position.
+     * @param i the position.
+     * @return the value of the position.
+     */
+    public long get(int i) {
+        return sum(i, i + 1);
+    }
+
+    // pushes down the pending values on the paths from the root to the leaves at the borders of a range, from the top
+    private void pushBorders(int l, int r) {
+        for (int h = height; h >= 1; h--) {
+            if (((l >> h) << h) != l) {
+                push(l >> h, 1 << (h - 1));
+            }
+            if (((r >> h) << h) != r) {
+                push((r - 1) >> h, 1 << (h - 1));
+            }
+        }
+    }
+
+    // pushes the pending value of a node down to its children, which have the given amount of leaves under them
+    private void push(int i, int childLeaves) {
+        final long delta = tree[3 * i + 2];
+        if (delta != 0) {
+            apply(2 * i, delta, childLeaves);
+            apply(2 * i + 1, delta, childLeaves);
+            tree[3 * i + 2] = 0;
+        }
+    }
+
+    // adds a value to all the leaves under a node
+    private void apply(int i, long delta, int leaves) {
+        final int node = 3 * i;
+        tree[node] += delta * leaves;
+        tree[node + 1] += delta;
+        if (i < size) {
+            tree[node + 2] += delta;
+        }
+    }
+
+    private void pull(int i) {
+        final int left = 6 * i;
+        tree[3 * i] = tree[left] + tree[left + 3];
+        tree[3 * i + 1] = Math.min(tree[left + 1], tree[left + 4]);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Arrays;
+
+// generated from codegen/templates/Heap.template by PrimitiveCollectionsGenerator, edit the template instead
+/**
+ * Binary min-heap that holds {@code long} keys in a flat array, each with an optional {@code int} payload kept in a parallel array.<br/>
+ * The payload is what a {@code PriorityQueue<int[]>} would otherwise hold in the allocated arrays, such as the node reached in Dijkstra.
+ * The heap doubles in size whenever it is full, up to the largest array the JVM can allocate.
+ * Removing or peeking does not check whether the heap is empty, is the user's responsibility to check that whenever necessary.
+ */
+public class LongHeap {
+
+    // the largest array most JVMs can allocate
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private long[] keys;
+    // only the type of the keys changes between the generated heaps, the payloads are always ints (indexes, like the node in Dijkstra)
+    private int[] payloads;
+    private int size;
+
+    /**
+     * Creates a new heap, without payloads.
+     * @param capacity the amount of elements this heap should be able to hold before it needs to grow.
+     */
+    public LongHeap(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates a new heap.
+     * @param capacity     the amount of elements this heap should be able to hold before it needs to grow.
+     * @param withPayloads whether each key has a payload.
+     */
+    public LongHeap(int capacity, boolean withPayloads) {
+        this.keys = new long[Math.max(capacity, 1)];
+        this.payloads = withPayloads ? new int[keys.length] : null;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the amount of elements that the heap currently holds.
+     * @return the current size of the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the heap, removing every element it contains.
+     */
+    public void empty() {
+        size = 0;
+    }
+
+    /**
+     * Tells whether the heap is currently empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a new key to the heap, on a heap without payloads.
+     * @param key the key to be added.
+     */
+    public void push(long key) {
+        if (size == keys.length) {
+            grow();
+        }
+        siftUp(size++, key, 0);
+    }
+
+    /**
+     * Adds a new key with its payload to the heap.
+     * @param key     the key to be added.
+     * @param payload the payload that goes with the key.
+     */
+    public void push(long key, int payload) {
+        if (size == keys.length) {
+            grow();
+        }
+        siftUp(size++, key, payload);
+    }
+
+    /**
+     * Retrieves the smallest key in the heap, without removing it.
+     * @return the smallest key.
+     */
+    public long peek() {
+        return keys[0];
+    }
+
+    /**
+     * Retrieves the payload of the smallest key in the heap, without removing it.
+     * @return the payload of the smallest key.
+     */
+    public int peekPayload() {
+        return payloads[0];
+    }
+
+    /**
+     * Removes the smallest key in the heap. Its payload can be retrieved with #peekPayload() before removing it.
+     * @return the smallest key.
+     */
+    public long pop() {
+        final long top = keys[0];
+        final int last = --size;
+        if (last > 0) {
+            siftDown(keys[last], payloads != null ? payloads[last] : 0);
+        }
+        return top;
+    }
+
+    // moves the hole at position i up until the key fits in it
+    private void siftUp(int i, long key, int payload) {
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key)
+                break;
+            keys[i] = keys[parent];
+            if (payloads != null) {
+                payloads[i] = payloads[parent];
+            }
+            i = parent;
+        }
+        keys[i] = key;
+        if (payloads != null) {
+            payloads[i] = payload;
+        }
+    }
+
+    // moves the hole at the root down until the key fits in it
+    private void siftDown(long key, int payload) {
+        int i = 0;
+        final int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child])
+                break;
+            keys[i] = keys[child];
+            if (payloads != null) {
+                payloads[i] = payloads[child];
+            }
+            i = child;
+        }
+        keys[i] = key;
+        if (payloads != null) {
+            payloads[i] = payload;
+        }
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("the heap can not hold more than " + MAX_CAPACITY + " elements");
+        keys = Arrays.copyOf(keys, (int) Math.min((long) keys.length << 1, MAX_CAPACITY));
+        if (payloads != null) {
+            payloads = Arrays.copyOf(payloads, keys.length);
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code long} keys to {@code int} values, without boxing and without an object per entry.<br/>
+ * Keys and values are kept in two flat arrays, in an open addressing table with linear probing, whose size is a power of 2 that doubles whenever the table is three quarters full.
+ * Keys are spread over the table with a mixing hash, so that sequential or patterned keys do not cluster, and removing a key shifts the following ones back
+ * instead of leaving a tombstone, so lookups never get slower after many removals.
+ * An empty slot is marked with the key 0, so the key 0 itself is kept apart from the table.
+ */
+public class LongIntHashMap {
+
+    private static final long FREE = 0;
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    // the amount of keys in the table, which does not include the key 0, and the amount that makes the table grow
+    private int used;
+    private int threshold;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Creates a new map.
+     * @param expectedSize the amount of keys this map should be able to hold before it needs to grow.
+     * @throws IllegalArgumentException if the table for it would not fit in an array, above 805306368 (3/4 of 2^30).
+     */
+    public LongIntHashMap(int expectedSize) {
+        if (expectedSize > MAX_CAPACITY / 4 * 3)
+            throw new IllegalArgumentException("expected size too large: " + expectedSize);
+        int capacity = 4;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the amount of keys that the map currently holds.
+     * @return the current size of the map.
+     */
+    public int size() {
+        return used + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Tells whether the map is currently empty.
+     * @return {@code true} if the map is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Empties the map, removing every key it contains.
+     */
+    public void empty() {
+        Arrays.fill(keys, FREE);
+        used = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Tells whether a key is in the map.
+     * @param key the key.
+     * @return {@code true} if the key is in the map, {@code false} otherwise.
+     */
+    public boolean containsKey(long key) {
+        if (key == FREE)
+            return hasZeroKey;
+        return keys[find(key)] != FREE;
+    }
+
+    /**
+     * Retrieves the value of a key.
+     * @param key          the key.
+     * @param defaultValue the value returned if the key is not in the map.
+     * @return the value of the key, or the default value if the key is not in the map.
+     */
+    public int get(long key, int defaultValue) {
+        if (key == FREE)
+            return hasZeroKey ? zeroValue : defaultValue;
+        final int slot = find(key);
+        return keys[slot] != FREE ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Sets the value of a key, adding the key if it is not in the map.
+     * @param key   the key.
+     * @param value the new value of the key.
+     */
+    public void put(long key, int value) {
+        if (key == FREE) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        final int slot = find(key);
+        if (keys[slot] == FREE) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Adds an amount to the value of a key, adding the key with the amount as its value if it is not in the map. Useful for counting.
+     * @param key   the key.
+     * @param delta the amount to be added to the value of the key.
+     * @return the new value of the key.
+     */
+    public int add(long key, int delta) {
+        if (key == FREE) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        final int slot = find(key);
+        if (keys[slot] == FREE) {
+            insert(slot, key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Removes a key from the map.
+     * @param key the key to be removed.
+     * @return {@code true} if the key was in the map, {@code false} otherwise.
+     */
+    public boolean remove(long key) {
+        if (key == FREE) {
+            final boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int gap = find(key);
+        if (keys[gap] == FREE)
+            return false;
+        used--;
+        // shifts back the following keys of the run that can take the place of the removed one, so that no key ends up after a free slot
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            final long k = keys[i];
+            if (k == FREE)
+                break;
+            final int home = mix(k) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+        return true;
+    }
+
+    /**
+     * All the keys in the map, in no particular order.
+     * @return a new array with the keys.
+     */
+    public long[] keys() {
+        long[] result = new long[size()];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = FREE;
+        }
+        for (long k : keys) {
+            if (k != FREE) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    // the slot holding the key, or the free slot where it would be inserted
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            final long k = keys[slot];
+            if (k == key || k == FREE)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(int slot, long key, int value) {
+        if (used == threshold) {
+            // grows before changing anything, so a full table is left as it was
+            grow();
+            slot = find(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used++;
+    }
+
+    // doubles the size of the table, putting every key in its new place
+    private void grow() {
+        if (keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("the table can not hold more than " + threshold + " keys");
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        mask = keys.length - 1;
+        threshold = keys.length / 4 * 3;
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long k = oldKeys[i];
+            if (k != FREE) {
+                final int slot = find(k);
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // spreads the bits of the key (Fibonacci hashing, as in fastutil), so that the lowest bits used as the slot depend on all of them
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+}
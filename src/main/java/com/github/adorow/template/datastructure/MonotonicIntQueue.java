@@ -0,0 +1,108 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Keeps the minimum (or maximum) of the last elements of a stream of {@code int}s, in a sliding window of fixed size.<br/>
+ * Only the elements that can still become the minimum are kept, in increasing order, so each element is added and removed at most once:
+ * a stream of n elements is processed in O(n) time, no matter the size of the window, and without allocating anything after creation.
+ * The maximum is computed as the minimum of the complements ({@code ~v}) of the elements, which reverses their order without overflowing.
+ */
+public class MonotonicIntQueue {
+
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int window;
+    private final boolean maximum;
+
+    // the candidates, and their positions in the stream, in a ring buffer that holds a whole window plus the element being added
+    private final int[] values;
+    private final int[] positions;
+    private final int mask;
+
+    private int ini, end;
+    // the amount of elements added since the last call to #empty()
+    private int count;
+
+    /**
+     * Creates a new monotonic queue.
+     * @param window  the amount of most recent elements the minimum (or maximum) is taken from.
+     * @param maximum {@code true} to keep the maximum of the window, {@code false} to keep its minimum.
+     * @throws IllegalArgumentException if window is 2^30 or more, as the ring holds a whole window plus one element.
+     */
+    public MonotonicIntQueue(int window, boolean maximum) {
+        if (window >= MAX_CAPACITY)
+            throw new IllegalArgumentException("window too large: " + window);
+        int capacity = Integer.highestOneBit(Math.max(window, 1)) << 1;
+        this.window = window;
+        this.maximum = maximum;
+        this.values = new int[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+        empty();
+    }
+
+    /**
+     * Empties the queue, so that it starts a new stream.
+     */
+    public void empty() {
+        ini = end = count = 0;
+    }
+
+    /**
+     * Tells whether the window already holds as many elements as its size.
+     * @return {@code true} if the window is full, {@code false} otherwise.
+     */
+    public boolean isFull() {
+        return count >= window;
+    }
+
+    /**
+     * Adds the next element of the stream, dropping the element that leaves the window, if any.
+     * @param v the element to be added.
+     */
+    public void add(int v) {
+        final int key = maximum ? ~v : v;
+        while (end != ini && values[(end - 1) & mask] >= key) {
+            end--;
+        }
+        values[end & mask] = key;
+        positions[end & mask] = count;
+        end++;
+        count++;
+        if (count - positions[ini & mask] > window) {
+            ini++;
+        }
+    }
+
+    /**
+     * Retrieves the minimum (or maximum) of the elements in the window. The window must not be empty.
+     * @return the minimum (or maximum) of the window.
+     */
+    public int get() {
+        final int key = values[ini & mask];
+        return maximum ? ~key : key;
+    }
+
+    /**
+     * Computes the minimum (or maximum) of every window in a slice of an array, starting a new stream.
+     *
+     * @param xs     the array with the elements.
+     * @param offset the position of the first element of the slice.
+     * @param length the amount of elements in the slice.
+     * @param dst    where the minimum (or maximum) of the window ending at each element is stored, starting at position 0 for the first full window.
+     *               Needs room for {@code length - window + 1} values.
+     * @return the amount of values stored in dst, 0 if the slice is shorter than the window.
+     */
+    public int slide(int[] xs, int offset, int length, int[] dst) {
+        empty();
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            add(xs[offset + i]);
+            if (i >= window - 1) {
+                dst[n++] = get();
+            }
+        }
+        return n;
+    }
+
+}
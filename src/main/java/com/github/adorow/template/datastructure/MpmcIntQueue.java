@@ -0,0 +1,163 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue of {@code int}s for any amount of producer and consumer threads, without locks and without boxing (Dmitry Vyukov's bounded MPMC queue).<br/>
+ * Each slot of the ring has a sequence number that tells whether it is ready to be written or to be read, for which turn around the ring.
+ * Producers and consumers claim a position by incrementing their counter with a CAS, and then only touch their own slot,
+ * releasing it with an ordered write of its sequence number, so they only contend on the counters, which are kept in different cache lines.
+ * The capacity is a power of 2, so positions in the ring are found with a mask instead of a division.
+ */
+public class MpmcIntQueue {
+
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 128 bytes between counters, to keep them in different cache lines even with adjacent line prefetching
+    private static final int PAD = 16;
+    private static final int ENQUEUE = PAD;
+    private static final int DEQUEUE = 2 * PAD;
+
+    private final int[] ring;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLongArray counters = new AtomicLongArray(3 * PAD);
+
+    /**
+     * Creates a new queue.
+     * @param capacity the maximum number of elements the queue can hold, rounded up to a power of 2.
+     * @throws IllegalArgumentException if capacity is above 2^30, the largest power of 2 an array can hold.
+     */
+    public MpmcIntQueue(int capacity) {
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("capacity too large: " + capacity);
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        ring = new int[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * The maximum number of elements the queue can hold.
+     * @return the capacity of the queue.
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * The amount of elements currently in the queue, which may already have changed when it is returned.
+     * @return the current size of the queue.
+     */
+    public int size() {
+        return (int) Math.max(counters.get(ENQUEUE) - counters.get(DEQUEUE), 0);
+    }
+
+    /**
+     * Tells whether the queue is currently empty, which may already have changed when it is returned.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Adds an element to the queue, if it is not full.
+     * @param v the element to be added.
+     * @return {@code true} if the element was added, {@code false} if the queue was full.
+     */
+    public boolean offer(int v) {
+        long pos = counters.get(ENQUEUE);
+        while (true) {
+            final int slot = (int) pos & mask;
+            final long difference = sequences.get(slot) - pos;
+            if (difference == 0) {
+                // the slot is free for this turn, and is taken if no other producer took it first
+                if (counters.compareAndSet(ENQUEUE, pos, pos + 1)) {
+                    ring[slot] = v;
+                    sequences.lazySet(slot, pos + 1);
+                    return true;
+                }
+                pos = counters.get(ENQUEUE);
+            } else if (difference < 0) {
+                // the slot was not read yet since the last turn
+                return false;
+            } else {
+                pos = counters.get(ENQUEUE);
+            }
+        }
+    }
+
+    /**
+     * Adds an element to the queue, waiting for room if it is full.
+     * @param v the element to be added.
+     */
+    public void put(int v) {
+        while (!offer(v)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Removes up to the given amount of elements from the queue, without waiting for them.
+     * Elements added concurrently by other threads may or may not be taken.
+     * @param dst    where the elements are stored.
+     * @param offset the position of dst where the first element is stored.
+     * @param length the maximum amount of elements to be removed.
+     * @return the amount of elements removed, 0 if the queue was empty.
+     */
+    public int drainTo(int[] dst, int offset, int length) {
+        int n = 0;
+        long pos = counters.get(DEQUEUE);
+        while (n < length) {
+            final int slot = (int) pos & mask;
+            final long difference = sequences.get(slot) - (pos + 1);
+            if (difference == 0) {
+                if (counters.compareAndSet(DEQUEUE, pos, pos + 1)) {
+                    dst[offset + n++] = ring[slot];
+                    // the slot is free again, for the next turn around the ring
+                    sequences.lazySet(slot, pos + ring.length);
+                    pos++;
+                } else {
+                    pos = counters.get(DEQUEUE);
+                }
+            } else if (difference < 0) {
+                // the slot was not written yet in this turn
+                break;
+            } else {
+                pos = counters.get(DEQUEUE);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Removes the first element of the queue, waiting for one if it is empty.
+     * @return the first element of the queue.
+     */
+    public int take() {
+        long pos = counters.get(DEQUEUE);
+        while (true) {
+            final int slot = (int) pos & mask;
+            final long difference = sequences.get(slot) - (pos + 1);
+            if (difference == 0) {
+                if (counters.compareAndSet(DEQUEUE, pos, pos + 1)) {
+                    final int v = ring[slot];
+                    sequences.lazySet(slot, pos + ring.length);
+                    return v;
+                }
+                pos = counters.get(DEQUEUE);
+            } else if (difference < 0) {
+                Thread.yield();
+                pos = counters.get(DEQUEUE);
+            } else {
+                pos = counters.get(DEQUEUE);
+            }
+        }
+    }
+
+}
@@ -1,28 +1,42 @@
 package com.github.adorow.template.datastructure;
 
 /**
- * Standard bounded queue implementation.<br/>
- * This implementation does not check for any boundaries when executing modifying operations, is the user's responsibility to check those whenever necessary.
+ * Standard queue implementation, in a ring buffer that doubles in size whenever it is full.<br/>
+ * The capacity is always a power of 2, so positions in the ring are found with a mask instead of a division.
+ * #enqueueUnchecked(Object) skips the check for a full queue, for when the maximum size is known up front.
+ * #dequeue() does not check whether the queue is empty, is the user's responsibility to check that whenever necessary.
  */
 public class Queue<T> {
 
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
     private T[] Q;
-    private int capacity;
+    private int mask;
 
+    // positions of the first element and of the next free slot; only ever increase, and are masked when used as indexes
     private int ini, end;
 
+    /**
+     * Creates a new queue.
+     * @param size the amount of elements this queue should be able to hold before it needs to grow.
+     * @throws IllegalArgumentException if size is above 2^30, the largest power of 2 an array can hold.
+     */
     public Queue(int size) {
-        this.capacity = size;
-        this.Q = (T[]) new Object[size];
+        if (size > MAX_CAPACITY)
+            throw new IllegalArgumentException("size too large: " + size);
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.Q = (T[]) new Object[capacity];
+        this.mask = capacity - 1;
         empty();
     }
 
     /**
-     * The amount of elements that this queue can hold.
+     * The amount of elements that this queue can hold before it needs to grow.
      * @return the capacity of the queue.
      */
     public int capacity() {
-        return capacity;
+        return Q.length;
     }
 
     /**
@@ -30,16 +44,16 @@ public class Queue<T> {
      * @return the current size of the queue.
      */
     public int size() {
-        if (ini <= end) {
-            return end - ini;
-        }
-        return (capacity - end) + ini;
+        return end - ini;
     }
 
     /**
      * Empties the queue. Removing every element it contains. Resulting in the next call to #isEmpty() to return {@code true}, if no new element is added.
      */
     public void empty() {
+        while (ini != end) {
+            Q[ini++ & mask] = null;
+        }
         ini = end = 0;
     }
 
@@ -52,11 +66,23 @@ public class Queue<T> {
     }
 
     /**
-     * Adds a new element to the end of the queue.
+     * Adds a new element to the end of the queue, growing the queue if it is full.
      * @param v the element to be added.
      */
     public void enqueue(T v) {
-        Q[end++ % capacity] = v;
+        if (end - ini == Q.length) {
+            grow();
+        }
+        Q[end++ & mask] = v;
+    }
+
+    /**
+     * Adds a new element to the end of the queue, without checking whether the queue is full.
+     * The queue must have been created with enough capacity for all the elements it will hold at once.
+     * @param v the element to be added.
+     */
+    public void enqueueUnchecked(T v) {
+        Q[end++ & mask] = v;
     }
 
     /**
@@ -64,7 +90,34 @@ public class Queue<T> {
      * @return the first element of the queue.
      */
     public T dequeue() {
-        return Q[ini++ % capacity];
+        final int i = ini++ & mask;
+        final T v = Q[i];
+        // so that the queue does not keep the element from being garbage collected
+        Q[i] = null;
+        return v;
+    }
+
+    /**
+     * Retrieves the first element of the queue, without removing it.
+     * @return the first element of the queue.
+     */
+    public T peek() {
+        return Q[ini & mask];
+    }
+
+    // doubles the capacity, moving the elements to the start of the new ring
+    private void grow() {
+        if (Q.length == MAX_CAPACITY)
+            throw new IllegalStateException("the queue can not hold more than " + MAX_CAPACITY + " elements");
+        final int size = end - ini;
+        final int first = ini & mask;
+        T[] grown = (T[]) new Object[Q.length << 1];
+        System.arraycopy(Q, first, grown, 0, Q.length - first);
+        System.arraycopy(Q, 0, grown, Q.length - first, first);
+        Q = grown;
+        mask = grown.length - 1;
+        ini = 0;
+        end = size;
     }
 
-}
\ No newline at end of file
+}
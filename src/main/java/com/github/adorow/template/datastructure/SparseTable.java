@@ -0,0 +1,53 @@
+package com.github.adorow.template.datastructure;
+
+/**
+ * Sparse table of {@code int}s, that finds the minimum (or maximum) of any range in O(1) time, for arrays that do not change.<br/>
+ * Level k holds the minimum of every range of 2^k positions, so any range is covered by two (overlapping) ranges of the same level.
+ * Building it takes O(n log n) time and memory. Nothing is allocated per query.
+ * The maximum is kept as the minimum of the complements ({@code ~v}) of the values, which reverses their order without overflowing.
+ * No boundary checks are done, the user of this class has to do it.
+ */
+public class SparseTable {
+
+    private final boolean maximum;
+    // table[k][i] is the minimum of the values from position i to i + 2^k - 1
+    private final int[][] table;
+
+    /**
+     * Creates a new table.
+     * @param values  the value of each position.
+     * @param maximum {@code true} to find the maximum of ranges, {@code false} to find their minimum.
+     */
+    public SparseTable(int[] values, boolean maximum) {
+        final int n = values.length;
+        this.maximum = maximum;
+        final int levels = 32 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        table = new int[levels][];
+        table[0] = new int[n];
+        for (int i = 0; i < n; i++) {
+            table[0][i] = maximum ? ~values[i] : values[i];
+        }
+        for (int k = 1; k < levels; k++) {
+            final int half = 1 << (k - 1);
+            final int[] previous = table[k - 1];
+            final int[] level = table[k] = new int[n - (1 << k) + 1];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = Math.min(previous[i], previous[i + half]);
+            }
+        }
+    }
+
+    /**
+     * The minimum (or maximum) of a range of positions, which must not be empty.
+     * @param from the first position of the range.
+     * @param to   the position after the last one of the range.
+     * @return the minimum (or maximum) of the values in the range.
+     */
+    public int query(int from, int to) {
+        final int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        final int[] level = table[k];
+        final int result = Math.min(level[from], level[to - (1 << k)]);
+        return maximum ? ~result : result;
+    }
+
+}
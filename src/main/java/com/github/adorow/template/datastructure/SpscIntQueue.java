@@ -0,0 +1,159 @@
+package com.github.adorow.template.datastructure;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue of {@code int}s for exactly one producer thread and one consumer thread, without locks and without boxing.<br/>
+ * The producer only writes the tail counter and the consumer only writes the head counter, each with a release store ({@code lazySet}),
+ * so handing over an element costs no more than an ordered write. The counters are kept far apart in the same array,
+ * so that the two threads do not invalidate each other's cache line (false sharing), and each thread keeps its own copy of the other's counter,
+ * only reading the shared one again when the queue looks full (or empty).
+ * The capacity is a power of 2, so positions in the ring are found with a mask instead of a division.
+ */
+public class SpscIntQueue {
+
+    // the largest power of 2 that is a valid array length
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 128 bytes between counters, to keep them in different cache lines even with adjacent line prefetching
+    private static final int PAD = 16;
+    private static final int HEAD = PAD;
+    private static final int TAIL = 2 * PAD;
+
+    private final int[] ring;
+    private final int mask;
+    private final AtomicLongArray counters = new AtomicLongArray(3 * PAD);
+
+    // owned by the producer: the next tail, and the last head it has seen
+    private final long[] producer = new long[2 * PAD];
+    // owned by the consumer: the next head, and the last tail it has seen
+    private final long[] consumer = new long[2 * PAD];
+
+    /**
+     * Creates a new queue.
+     * @param capacity the maximum number of elements the queue can hold, rounded up to a power of 2.
+     * @throws IllegalArgumentException if capacity is above 2^30, the largest power of 2 an array can hold.
+     */
+    public SpscIntQueue(int capacity) {
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("capacity too large: " + capacity);
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        ring = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * The maximum number of elements the queue can hold.
+     * @return the capacity of the queue.
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * The amount of elements currently in the queue, which may already have changed when it is returned.
+     * @return the current size of the queue.
+     */
+    public int size() {
+        return (int) (counters.get(TAIL) - counters.get(HEAD));
+    }
+
+    /**
+     * Tells whether the queue is currently empty, which may already have changed when it is returned.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return counters.get(TAIL) == counters.get(HEAD);
+    }
+
+    /**
+     * Adds an element to the queue, if it is not full. Must only be called from the producer thread.
+     * @param v the element to be added.
+     * @return {@code true} if the element was added, {@code false} if the queue was full.
+     */
+    public boolean offer(int v) {
+        final long tail = producer[PAD];
+        if (tail - producer[PAD + 1] >= ring.length) {
+            producer[PAD + 1] = counters.get(HEAD);
+            if (tail - producer[PAD + 1] >= ring.length)
+                return false;
+        }
+        ring[(int) tail & mask] = v;
+        producer[PAD] = tail + 1;
+        counters.lazySet(TAIL, tail + 1);
+        return true;
+    }
+
+    /**
+     * Adds as many elements of a slice of an array as there is room for, publishing all of them at once. Must only be called from the producer thread.
+     * @param src    the array with the elements.
+     * @param offset the position of the first element to be added.
+     * @param length the amount of elements to be added.
+     * @return the amount of elements added, which is less than length if the queue got full.
+     */
+    public int offer(int[] src, int offset, int length) {
+        final long tail = producer[PAD];
+        int n = (int) Math.min(length, ring.length - (tail - producer[PAD + 1]));
+        if (n < length) {
+            producer[PAD + 1] = counters.get(HEAD);
+            n = (int) Math.min(length, ring.length - (tail - producer[PAD + 1]));
+        }
+        for (int i = 0; i < n; i++) {
+            ring[(int) (tail + i) & mask] = src[offset + i];
+        }
+        producer[PAD] = tail + n;
+        counters.lazySet(TAIL, tail + n);
+        return n;
+    }
+
+    /**
+     * Adds an element to the queue, waiting for room if it is full. Must only be called from the producer thread.
+     * @param v the element to be added.
+     */
+    public void put(int v) {
+        while (!offer(v)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Removes up to the given amount of elements from the queue, without waiting for them. Must only be called from the consumer thread.
+     * @param dst    where the elements are stored.
+     * @param offset the position of dst where the first element is stored.
+     * @param length the maximum amount of elements to be removed.
+     * @return the amount of elements removed, 0 if the queue was empty.
+     */
+    public int drainTo(int[] dst, int offset, int length) {
+        final long head = consumer[PAD];
+        int n = (int) Math.min(length, consumer[PAD + 1] - head);
+        if (n < length) {
+            consumer[PAD + 1] = counters.get(TAIL);
+            n = (int) Math.min(length, consumer[PAD + 1] - head);
+        }
+        for (int i = 0; i < n; i++) {
+            dst[offset + i] = ring[(int) (head + i) & mask];
+        }
+        consumer[PAD] = head + n;
+        counters.lazySet(HEAD, head + n);
+        return n;
+    }
+
+    /**
+     * Removes the first element of the queue, waiting for one if it is empty. Must only be called from the consumer thread.
+     * @return the first element of the queue.
+     */
+    public int take() {
+        final long head = consumer[PAD];
+        while (consumer[PAD + 1] == head) {
+            consumer[PAD + 1] = counters.get(TAIL);
+            if (consumer[PAD + 1] == head) {
+                Thread.yield();
+            }
+        }
+        final int v = ring[(int) head & mask];
+        consumer[PAD] = head + 1;
+        counters.lazySet(HEAD, head + 1);
+        return v;
+    }
+
+}
@@ -0,0 +1,321 @@
+package com.github.adorow.template.graph;
+
+import com.github.adorow.template.IO;
+import com.github.adorow.template.datastructure.IntQueue;
+import com.github.adorow.template.datastructure.IntStack;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Graph in compressed sparse row form: the edges of all the nodes are stored consecutively in flat arrays, with the edges of node v
+ * at positions {@code offsets[v]} to {@code offsets[v + 1] - 1} of {@code targets} (and of the weights, if any).<br/>
+ * Compared to a {@code List<List<Integer>>}, this uses a fraction of the memory (no boxing, no list per node) and walking the edges of a node reads contiguous memory.
+ * The graph is built in two passes over the edge list: the first counts the degree of each node, the second puts each edge in its place.
+ * Traversals use the primitive queues and stacks, and allocate nothing per node.
+ */
+public class CsrGraph {
+
+    public static final int UNWEIGHTED = 0;
+    public static final int INT_WEIGHTS = 1;
+    public static final int LONG_WEIGHTS = 2;
+
+    private static final int READ_BATCH = 3 * 4096;
+
+    public final int nodes;
+    public final int[] offsets;
+    public final int[] targets;
+    // the weight of each edge, in the same position as its target; only one of them is set, if the graph is weighted
+    public final int[] weights;
+    public final long[] longWeights;
+
+    // scratch space of #dfs(int, boolean[], int[]), created on its first call and reused by the next ones
+    private IntStack dfsStack;
+    private int[] dfsNext;
+
+    private CsrGraph(int nodes, int[] offsets, int[] targets, int[] weights, long[] longWeights) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.longWeights = longWeights;
+    }
+
+    /**
+     * Reads a graph given as a list of edges, one edge per line as two nodes, optionally followed by its weight.
+     *
+     * @param io         the IO to read the edges from.
+     * @param nodes      the amount of nodes.
+     * @param edges      the amount of edges to read.
+     * @param directed   whether the edges only go from the first node to the second one.
+     * @param weightKind UNWEIGHTED, INT_WEIGHTS or LONG_WEIGHTS.
+     * @param firstNode  the number of the first node in the input, usually 0 or 1. Nodes are numbered from 0 in the graph.
+     * @return the graph.
+     * @throws IOException if reading the input failed, or EOFException if it ended before all the edges were read.
+     */
+    public static CsrGraph read(IO io, int nodes, int edges, boolean directed, int weightKind, int firstNode) throws IOException {
+        Builder builder = new Builder(nodes, edges, directed, weightKind);
+        // the numbers of the edges are read in bulk, a batch at a time
+        final int stride = weightKind == UNWEIGHTED ? 2 : 3;
+        int[] batch = weightKind == LONG_WEIGHTS ? null : new int[READ_BATCH];
+        long[] longBatch = weightKind == LONG_WEIGHTS ? new long[READ_BATCH] : null;
+        for (int read = 0; read < edges; ) {
+            final int n = Math.min(READ_BATCH / 3, edges - read);
+            final int numbers = n * stride;
+            if (longBatch != null) {
+                if (io.readLongs(longBatch, 0, numbers) < numbers)
+                    throw new EOFException("the input ended after " + read + " of " + edges + " edges");
+                for (int i = 0, p = 0; i < n; i++, p += 3) {
+                    builder.addEdge((int) longBatch[p] - firstNode, (int) longBatch[p + 1] - firstNode, longBatch[p + 2]);
+                }
+            } else {
+                if (io.readInts(batch, 0, numbers) < numbers)
+                    throw new EOFException("the input ended after " + read + " of " + edges + " edges");
+                for (int i = 0, p = 0; i < n; i++, p += stride) {
+                    builder.addEdge(batch[p] - firstNode, batch[p + 1] - firstNode, stride == 3 ? batch[p + 2] : 0);
+                }
+            }
+            read += n;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects the edges of a graph, to build it once all of them are known.
+     */
+    public static class Builder {
+
+        private final int nodes;
+        private final boolean directed;
+        private final int weightKind;
+
+        private int[] from;
+        private int[] to;
+        private int[] weights;
+        private long[] longWeights;
+        private int edges;
+
+        /**
+         * Creates a new builder.
+         * @param nodes         the amount of nodes, numbered from 0.
+         * @param expectedEdges the amount of edges expected, so that the edge list does not need to grow.
+         * @param directed      whether the edges only go from the first node to the second one.
+         * @param weightKind    UNWEIGHTED, INT_WEIGHTS or LONG_WEIGHTS.
+         */
+        public Builder(int nodes, int expectedEdges, boolean directed, int weightKind) {
+            this.nodes = nodes;
+            this.directed = directed;
+            this.weightKind = weightKind;
+            final int capacity = Math.max(expectedEdges, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            if (weightKind == INT_WEIGHTS) {
+                weights = new int[capacity];
+            } else if (weightKind == LONG_WEIGHTS) {
+                longWeights = new long[capacity];
+            }
+        }
+
+        /**
+         * Adds an edge, without a weight.
+         * @param u the first node of the edge.
+         * @param v the second node of the edge.
+         */
+        public void addEdge(int u, int v) {
+            addEdge(u, v, 0);
+        }
+
+        /**
+         * Adds an edge with a weight, which is ignored if the graph is unweighted.
+         * @param u the first node of the edge.
+         * @param v the second node of the edge.
+         * @param w the weight of the edge.
+         */
+        public void addEdge(int u, int v, long w) {
+            if (edges == from.length) {
+                grow();
+            }
+            from[edges] = u;
+            to[edges] = v;
+            if (weights != null) {
+                weights[edges] = (int) w;
+            } else if (longWeights != null) {
+                longWeights[edges] = w;
+            }
+            edges++;
+        }
+
+        private void grow() {
+            final int capacity = from.length << 1;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            if (weights != null) {
+                weights = Arrays.copyOf(weights, capacity);
+            } else if (longWeights != null) {
+                longWeights = Arrays.copyOf(longWeights, capacity);
+            }
+        }
+
+        /**
+         * Builds the graph with the edges added so far.
+         * @return the graph.
+         */
+        public CsrGraph build() {
+            final int arcs = directed ? edges : 2 * edges;
+            // first pass: offsets[v] ends up as the position after the last edge of v
+            int[] offsets = new int[nodes + 1];
+            for (int i = 0; i < edges; i++) {
+                offsets[from[i]]++;
+                if (!directed) {
+                    offsets[to[i]]++;
+                }
+            }
+            for (int v = 1; v <= nodes; v++) {
+                offsets[v] += offsets[v - 1];
+            }
+            // second pass: each edge is put right before the ones already placed for its node, going backwards so that
+            // the edges of each node keep the order they were added in, and offsets[v] ends up as the position of the first edge of v
+            int[] targets = new int[arcs];
+            int[] graphWeights = weightKind == INT_WEIGHTS ? new int[arcs] : null;
+            long[] graphLongWeights = weightKind == LONG_WEIGHTS ? new long[arcs] : null;
+            for (int i = edges - 1; i >= 0; i--) {
+                place(offsets, targets, graphWeights, graphLongWeights, from[i], to[i], i);
+                if (!directed) {
+                    place(offsets, targets, graphWeights, graphLongWeights, to[i], from[i], i);
+                }
+            }
+            return new CsrGraph(nodes, offsets, targets, graphWeights, graphLongWeights);
+        }
+
+        private void place(int[] offsets, int[] targets, int[] graphWeights, long[] graphLongWeights, int u, int v, int edge) {
+            final int position = --offsets[u];
+            targets[position] = v;
+            if (graphWeights != null) {
+                graphWeights[position] = weights[edge];
+            } else if (graphLongWeights != null) {
+                graphLongWeights[position] = longWeights[edge];
+            }
+        }
+
+    }
+
+    /**
+     * The amount of edges leaving a node.
+     * @param v the node.
+     * @return the degree of the node.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * The amount of edges stored, where each undirected edge is stored twice, once for each of its nodes.
+     * @return the amount of edges stored.
+     */
+    public int arcs() {
+        return targets.length;
+    }
+
+    /**
+     * Breadth first search from a node, computing the distance (in edges) of every node to it.
+     *
+     * @param source the node the search starts from.
+     * @param dist   where the distance of each node is stored, or -1 if the node can not be reached.
+     * @return the amount of nodes reached, including the source.
+     */
+    public int bfs(int source, int[] dist) {
+        Arrays.fill(dist, 0, nodes, -1);
+        IntQueue queue = new IntQueue(nodes);
+        dist[source] = 0;
+        queue.enqueueUnchecked(source);
+        int reached = 1;
+        while (!queue.isEmpty()) {
+            final int u = queue.dequeue();
+            final int next = dist[u] + 1;
+            for (int e = offsets[u], last = offsets[u + 1]; e < last; e++) {
+                final int v = targets[e];
+                if (dist[v] < 0) {
+                    dist[v] = next;
+                    queue.enqueueUnchecked(v);
+                    reached++;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Depth first search from a node, without recursion, so that deep graphs do not overflow the stack.
+     * Nodes are visited in the same order as in a recursive search following the edges in order.
+     * Its scratch space is kept between calls, so calling it once per component takes O(nodes + edges) time overall,
+     * but a graph can only be searched by one thread at a time.
+     *
+     * @param source  the node the search starts from.
+     * @param visited the nodes already visited, which are not visited again; the nodes visited by this search are marked in it.
+     * @param order   where the nodes are stored in the order they are visited, starting at position 0.
+     * @return the amount of nodes visited.
+     */
+    public int dfs(int source, boolean[] visited, int[] order) {
+        if (visited[source])
+            return 0;
+        if (dfsStack == null) {
+            dfsStack = new IntStack(nodes);
+            dfsNext = new int[nodes];
+        }
+        final IntStack stack = dfsStack;
+        // the next edge to follow from each node in the stack
+        final int[] next = dfsNext;
+        int n = 0;
+        visited[source] = true;
+        order[n++] = source;
+        next[source] = offsets[source];
+        stack.push(source);
+        while (!stack.isEmpty()) {
+            final int u = stack.peek();
+            if (next[u] == offsets[u + 1]) {
+                stack.pop();
+                continue;
+            }
+            final int v = targets[next[u]++];
+            if (!visited[v]) {
+                visited[v] = true;
+                order[n++] = v;
+                next[v] = offsets[v];
+                stack.push(v);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Sorts the nodes of a directed graph so that every edge goes from a node to a later one (Kahn's algorithm).
+     *
+     * @param order where the nodes are stored in topological order.
+     * @return the amount of nodes sorted, which is less than the amount of nodes if the graph has a cycle.
+     */
+    public int topologicalOrder(int[] order) {
+        int[] inDegree = new int[nodes];
+        for (int e = 0; e < targets.length; e++) {
+            inDegree[targets[e]]++;
+        }
+        IntQueue queue = new IntQueue(nodes);
+        for (int v = 0; v < nodes; v++) {
+            if (inDegree[v] == 0) {
+                queue.enqueueUnchecked(v);
+            }
+        }
+        int n = 0;
+        while (!queue.isEmpty()) {
+            final int u = queue.dequeue();
+            order[n++] = u;
+            for (int e = offsets[u], last = offsets[u + 1]; e < last; e++) {
+                if (--inDegree[targets[e]] == 0) {
+                    queue.enqueueUnchecked(targets[e]);
+                }
+            }
+        }
+        return n;
+    }
+
+}